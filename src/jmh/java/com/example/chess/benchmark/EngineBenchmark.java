@@ -0,0 +1,85 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.api.models.PieceDto;
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.GameStatus;
+import com.example.chess.engine.models.*;
+import com.example.chess.engine.models.piece.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EngineBenchmark {
+
+    @Param({
+            Fen.START,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"
+    })
+    public String fen;
+
+    private ChessGame game;
+    private Board board;
+    private PieceMove[] moves;
+    private Piece[] pieces;
+    private String[] positions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        game = Fen.parse(fen);
+        board = game.getBoard();
+
+        MoveList legalMoves = game.legalMoves(new MoveList());
+        moves = new PieceMove[legalMoves.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = Move.toPieceMove(legalMoves.get(i));
+        }
+        pieces = board.pieces(game.getCurrentPlayer()).toArray(new Piece[0]);
+
+        positions = new String[64];
+        for (int square = 0; square < positions.length; square++) {
+            positions[square] = Position.ofSquare(square).toString();
+        }
+    }
+
+    @Benchmark
+    public Board applyMoveNoValidate() {
+        return board.applyMoveNoValidate(moves[next(moves.length)]);
+    }
+
+    @Benchmark
+    public void finallyValidMoves(Blackhole blackhole) {
+        for (Piece piece : pieces) {
+            blackhole.consume(piece.finallyValidMoves(game));
+        }
+    }
+
+    @Benchmark
+    public GameStatus updateGameStatus() {
+        game.updateGameStatus();
+        return game.getStatus();
+    }
+
+    @Benchmark
+    public List<PieceDto> calculatePieceDtos() {
+        return game.calculatePieceDtos(true);
+    }
+
+    @Benchmark
+    public Position positionOf() {
+        return Position.of(positions[next(positions.length)]);
+    }
+
+    private int next(int bound) {
+        return Math.floorMod(++index, bound);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Position;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import com.example.chess.service.GameExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class GameContentionBenchmark {
+    private static final List<PieceMove> MOVES = List.of(
+            new PieceMove(Position.of("G1"), Position.of("F3")),
+            new PieceMove(Position.of("G8"), Position.of("F6")),
+            new PieceMove(Position.of("F3"), Position.of("G1")),
+            new PieceMove(Position.of("F6"), Position.of("G8")));
+
+    @Param({"1", "64", "4096"})
+    public int games;
+
+    private GameMetadata[] metadata;
+    private GameExecutor gameExecutor;
+    private final Object globalLock = new Object();
+
+    @Setup
+    public void setUp() {
+        GameRepositoryImpl repository = new GameRepositoryImpl();
+        metadata = new GameMetadata[games];
+        for (int i = 0; i < games; i++) {
+            metadata[i] = repository.newGame();
+        }
+        gameExecutor = new GameExecutor(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Benchmark
+    public GameMetadata perGameMailbox() {
+        GameMetadata game = metadata[ThreadLocalRandom.current().nextInt(games)];
+        return gameExecutor.execute(game.getId(), () -> nextMove(game));
+    }
+
+    @Benchmark
+    public GameMetadata globalLock() {
+        GameMetadata game = metadata[ThreadLocalRandom.current().nextInt(games)];
+        synchronized (globalLock) {
+            return nextMove(game);
+        }
+    }
+
+    private static GameMetadata nextMove(GameMetadata metadata) {
+        if (metadata.getGame().getHalfmoveClock() == MOVES.size()) {
+            metadata.setGame(ChessGame.start());
+        }
+        metadata.applyMove(MOVES.get(metadata.getGame().getHalfmoveClock()));
+        return metadata;
+    }
+}
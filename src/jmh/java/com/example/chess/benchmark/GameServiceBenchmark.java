@@ -0,0 +1,52 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.api.models.MoveDto;
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.book.OpeningBook;
+import com.example.chess.engine.tablebase.Tablebase;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import com.example.chess.service.AnalysisScheduler;
+import com.example.chess.service.EnginePlayer;
+import com.example.chess.service.GameExecutor;
+import com.example.chess.service.GameService;
+import com.example.chess.service.GameUpdateRouter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+    private static final List<MoveDto> MOVES = List.of(
+            new MoveDto("G1", "F3"),
+            new MoveDto("G8", "F6"),
+            new MoveDto("F3", "G1"),
+            new MoveDto("F6", "G8"));
+
+    private GameService gameService;
+    private GameMetadata metadata;
+
+    @Setup
+    public void setUp() {
+        gameService = new GameService(new GameRepositoryImpl(), new EnginePlayer(new AnalysisScheduler(1, 16, 4, 1000), OpeningBook.empty(), Tablebase.empty(), 100, 1, 1, 1, 1), new GameExecutor(0), new GameUpdateRouter(4, 16));
+        metadata = gameService.newGame();
+        gameService.joinGame(metadata.getId());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public GameMetadata applyMove() {
+        metadata.setGame(ChessGame.start());
+        GameMetadata result = metadata;
+        for (MoveDto move : MOVES) {
+            result = gameService.applyMove(metadata.getId(), metadata.currentPlayerToken(), move);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Position;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStateResponseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameMetadata metadata;
+    private String token;
+    private int since;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Payload {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        metadata = new GameRepositoryImpl().newGame();
+        ChessGame game = ChessGame.start();
+        for (String move : "E2E4 E7E5 G1F3 B8C6 F1C4 G8F6".split(" ")) {
+            game = game.applyMove(new PieceMove(Position.of(move.substring(0, 2)), Position.of(move.substring(2))));
+        }
+        metadata.setGame(game);
+        token = metadata.currentPlayerToken();
+        since = game.getPreviousMoves().size() - 1;
+    }
+
+    @Benchmark
+    public byte[] fullSnapshot(Payload payload) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(metadata.getGameStateDtoForPlayer(token));
+        payload.bytes += body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] delta(Payload payload) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(metadata.getGameDeltaDtoForPlayer(token, since));
+        payload.bytes += body.length;
+        return body;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.search.ParallelSearch;
+import com.example.chess.engine.search.SearchLimits;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.engine.search.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"8"})
+    public int depth;
+
+    @Param({
+            Fen.START,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"
+    })
+    public String fen;
+
+    private ChessGame game;
+    private TranspositionTable transpositionTable;
+    private ExecutorService helpers;
+    private ParallelSearch search;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup
+    public void setUp() {
+        game = Fen.parse(fen);
+        transpositionTable = new TranspositionTable(64);
+        helpers = Executors.newCachedThreadPool();
+        search = new ParallelSearch(transpositionTable, threads, helpers);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        transpositionTable.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        helpers.shutdownNow();
+    }
+
+    @Benchmark
+    public SearchResult timeToDepth(Nodes counter) {
+        SearchResult result = search.search(game, SearchLimits.depth(depth));
+        counter.nodes += result.getNodes();
+        return result;
+    }
+}
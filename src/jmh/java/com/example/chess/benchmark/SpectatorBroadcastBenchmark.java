@@ -0,0 +1,127 @@
+package com.example.chess.benchmark;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Position;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import com.example.chess.service.GameStreamService;
+import com.example.chess.service.GameUpdateRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpectatorBroadcastBenchmark {
+
+    private static final PieceMove[] KNIGHT_SHUFFLE = {
+            new PieceMove(Position.of("G1"), Position.of("F3")),
+            new PieceMove(Position.of("G8"), Position.of("F6")),
+            new PieceMove(Position.of("F3"), Position.of("G1")),
+            new PieceMove(Position.of("F6"), Position.of("G8"))
+    };
+
+    private static final long SLOW_WRITE_MILLIS = 5;
+
+    @Param({"1", "100", "1000", "10000"})
+    public int spectators;
+
+    @Param({"0", "8"})
+    public int slowSpectators;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongAdder received = new LongAdder();
+    private GameUpdateRouter router;
+    private GameStreamService streamService;
+    private GameMetadata metadata;
+    private ChessGame game;
+    private int ply;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Frames {
+        public long frames;
+    }
+
+    @Setup
+    public void setUp() {
+        router = new GameUpdateRouter(1, 16);
+        streamService = new GameStreamService(router, objectMapper, 4, 60_000, 60_000, 1_000);
+        metadata = new GameRepositoryImpl().newGame();
+        game = ChessGame.start();
+        for (int i = 0; i < spectators; i++) {
+            streamService.subscribe(metadata, null, new GameStreamService.FrameSink() {
+                @Override
+                public void send(byte[] frame) {
+                    received.increment();
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+        for (int i = 0; i < slowSpectators; i++) {
+            streamService.subscribe(metadata, null, new GameStreamService.FrameSink() {
+                @Override
+                public void send(byte[] frame) throws InterruptedIOException {
+                    try {
+                        Thread.sleep(SLOW_WRITE_MILLIS);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+        awaitFrames(spectators);
+    }
+
+    @TearDown
+    public void tearDown() {
+        streamService.shutdown();
+        router.shutdown();
+    }
+
+    @Benchmark
+    public void sharedFrameBroadcast(Frames frames) {
+        long expected = received.sum() + spectators;
+        nextPosition();
+        streamService.publish(metadata.snapshot());
+        awaitFrames(expected);
+        frames.frames += spectators;
+    }
+
+    @Benchmark
+    public void perSpectatorSerialization(Frames frames, Blackhole blackhole) throws JsonProcessingException {
+        nextPosition();
+        for (int i = 0; i < spectators; i++) {
+            blackhole.consume(objectMapper.writeValueAsBytes(metadata.getGameStateDtoForPlayer(null)));
+        }
+        frames.frames += spectators;
+    }
+
+    private void nextPosition() {
+        game = game.applyMoveNoValidate(KNIGHT_SHUFFLE[ply++ & 3]);
+        metadata.setGame(game);
+    }
+
+    private void awaitFrames(long expected) {
+        while (received.sum() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+}
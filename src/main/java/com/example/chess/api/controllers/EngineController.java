@@ -0,0 +1,36 @@
+package com.example.chess.api.controllers;
+
+import com.example.chess.api.models.EngineStatsDto;
+import com.example.chess.engine.search.TranspositionTable;
+import com.example.chess.service.AnalysisCache;
+import com.example.chess.service.AnalysisScheduler;
+import com.example.chess.service.AnalysisService;
+import com.example.chess.service.EnginePlayer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/engine")
+@RequiredArgsConstructor
+public class EngineController {
+    private final EnginePlayer enginePlayer;
+    private final AnalysisService analysisService;
+
+    @GetMapping("/stats")
+    public EngineStatsDto stats() {
+        TranspositionTable table = enginePlayer.getTranspositionTable();
+        AnalysisScheduler scheduler = enginePlayer.getScheduler();
+        AnalysisCache cache = analysisService.getCache();
+        long hits = table.getHits();
+        long misses = table.getMisses();
+        long probes = hits + misses;
+        return new EngineStatsDto(hits, misses, table.getStores(),
+                probes == 0 ? 0 : (double) hits / probes, table.hashfull(), table.capacity(),
+                scheduler.getQueueDepth(), scheduler.getQueueCapacity(), scheduler.getRunning(),
+                scheduler.getRejected(), scheduler.getCompleted(), scheduler.getCancelled(),
+                scheduler.getExpired(),
+                cache.getHits(), cache.getMisses(), cache.size());
+    }
+}
@@ -1,24 +1,40 @@
 package com.example.chess.api.controllers;
 
 import com.example.chess.api.models.*;
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
 import com.example.chess.engine.models.GamePlayerDesc;
+import com.example.chess.engine.models.Move;
 import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.exceptions.AnalysisRejectedException;
 import com.example.chess.exceptions.GameNotFoundException;
+import com.example.chess.exceptions.InvalidFenException;
 import com.example.chess.exceptions.InvalidMoveException;
 import com.example.chess.exceptions.InvalidTokenException;
 import com.example.chess.repository.GameMetadata;
+import com.example.chess.service.AnalysisService;
 import com.example.chess.service.GameService;
+import com.example.chess.service.GameStreamService;
+import com.example.chess.service.GameUpdateRouter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/game")
@@ -26,6 +42,9 @@ import java.util.concurrent.TimeUnit;
 public class GameController {
     private final Logger log = LoggerFactory.getLogger(GameController.class);
     private final GameService service;
+    private final AnalysisService analysisService;
+    private final GameUpdateRouter updateRouter;
+    private final GameStreamService streamService;
 
     @GetMapping("/sample")
     public GameStateDto gameStateSample() {
@@ -48,8 +67,9 @@ public class GameController {
     }
 
     @PostMapping("/{id}/move")
-    public ResponseEntity<GameStateDto> makeMove(@RequestHeader("ptoken") String playerToken,
+    public ResponseEntity<GameStatusDto> makeMove(@RequestHeader("ptoken") String playerToken,
                                       @PathVariable("id") String id,
+                                      @RequestParam(value = "since", required = false) Integer since,
                                       @RequestBody MoveDto moveDto) {
         log.debug("move {} {} {}", id, playerToken, moveDto);
 
@@ -57,7 +77,7 @@ public class GameController {
         if (metadata.getGame().isFinished()) {
             log.info("game finished {}", metadata.getGame().getStatus());
         }
-        return ResponseEntity.ok(metadata.getGameStateDtoForPlayer(playerToken));
+        return ResponseEntity.ok(metadata.getGameStateForPlayer(playerToken, since));
     }
 
     @PostMapping("/{id}/join")
@@ -71,8 +91,8 @@ public class GameController {
     }
 
     @PostMapping("/host")
-    public ResponseEntity<GameConnectionParamsDto> host() {
-        GameMetadata metadata = service.newGame();
+    public ResponseEntity<GameConnectionParamsDto> host(@RequestParam(value = "fen", required = false) String fen) {
+        GameMetadata metadata = fen == null || fen.isBlank() ? service.newGame() : service.newGame(fen);
         String whitePlayerToken = metadata.getPlayerTokens().get(PieceColor.WHITE);
 
         log.debug("host {} {}", metadata.getId(), whitePlayerToken);
@@ -80,9 +100,26 @@ public class GameController {
                 ColorDto.WHITE, metadata.getGameStateDtoForPlayer(whitePlayerToken)));
     }
 
+    @PostMapping("/host-vs-engine")
+    public ResponseEntity<GameConnectionParamsDto> hostVsEngine(
+            @RequestParam(value = "side", defaultValue = "WHITE") ColorDto side,
+            @RequestParam(value = "fen", required = false) String fen,
+            @RequestParam(value = "threads", required = false) Integer threads) {
+        PieceColor playerSide = PieceColor.of(side);
+        GameMetadata metadata = threads == null
+                ? service.newEngineGame(playerSide, fen)
+                : service.newEngineGame(playerSide, fen, threads);
+        String playerToken = metadata.getPlayerTokens().get(playerSide);
+
+        log.debug("host vs engine {} {}", metadata.getId(), playerToken);
+        return ResponseEntity.ok(new GameConnectionParamsDto(metadata.getId(), playerToken,
+                side, metadata.getGameStateDtoForPlayer(playerToken)));
+    }
+
     @PostMapping("/{id}/wait-for-my-move")
     public DeferredResult<Object> waitForMove(@RequestHeader("ptoken") String playerToken,
-                                         @PathVariable("id") String id) {
+                                         @PathVariable("id") String id,
+                                         @RequestParam(value = "since", required = false) Integer since) {
         log.debug("await move {} {}", id, playerToken);
 
         DeferredResult<Object> deferredResult = new DeferredResult<>(TimeUnit.MINUTES.toMillis(60));
@@ -95,18 +132,80 @@ public class GameController {
 
         if (metadata.currentPlayerToken().equals(playerToken)
                 && metadata.isSecondPlayerJoined()) {
-            deferredResult.setResult(metadata.getGameStateDtoForPlayer(playerToken));
+            deferredResult.setResult(metadata.getGameStateForPlayer(playerToken, since));
             log.debug("await move immediate response {} {}", id, playerToken);
         } else {
-            service.awaitOpponentMove(new GamePlayerDesc(id, playerToken), m -> {
-                deferredResult.setResult(m.getGameStateDtoForPlayer(playerToken));
+            GamePlayerDesc gamePlayerDesc = new GamePlayerDesc(id, playerToken);
+            Consumer<GameMetadata> handler = m -> {
+                deferredResult.setResult(m.getGameStateForPlayer(playerToken, since));
                 log.debug("await move completed {} {}", id, playerToken);
-            });
+            };
+            deferredResult.onCompletion(() -> service.stopAwaiting(gamePlayerDesc, handler));
+            service.awaitOpponentMove(gamePlayerDesc, handler);
         }
 
         return deferredResult;
     }
 
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> stream(@PathVariable("id") String id,
+                                                      @RequestParam(value = "token", required = false) String playerToken) {
+        log.debug("stream {} {}", id, playerToken);
+        ResponseBodyEmitter emitter = streamService.open(service.find(id), playerToken);
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    @GetMapping("/{id}/analysis")
+    public DeferredResult<ResponseEntity<Object>> analysis(@PathVariable("id") String id,
+                                                           @RequestParam(value = "depth", defaultValue = "8") int depth) {
+        log.debug("analysis {} {}", id, depth);
+
+        ChessGame game = service.find(id).getGame();
+        CompletableFuture<SearchResult> analysis = analysisService.analyze(id, game, depth);
+
+        DeferredResult<ResponseEntity<Object>> deferredResult = new DeferredResult<>();
+        deferredResult.onTimeout(() -> analysis.cancel(true));
+        deferredResult.onError(e -> analysis.cancel(true));
+
+        analysis.whenComplete((result, e) -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause == null) {
+                deferredResult.setResult(ResponseEntity.ok(analysisDto(game, result)));
+            } else if (cause instanceof TimeoutException) {
+                deferredResult.setResult(new ResponseEntity<>("analysis timed out", HttpStatus.SERVICE_UNAVAILABLE));
+            } else if (!(cause instanceof CancellationException)) {
+                log.error("analysis failed " + id, cause);
+                deferredResult.setErrorResult(cause);
+            }
+        });
+        return deferredResult;
+    }
+
+    @GetMapping("/updates/stats")
+    public UpdateStatsDto updateStats() {
+        return new UpdateStatsDto(updateRouter.getPublished(), updateRouter.getDelivered(), updateRouter.getDropped(),
+                updateRouter.getQueued(), updateRouter.getSubscribers(),
+                updateRouter.getAverageLagMillis(), updateRouter.getMaxLagMillis(),
+                streamService.getStreams(), streamService.getSpectators(), streamService.getSerialized(),
+                streamService.getSent(), streamService.getConflated(), streamService.getSlowDropped());
+    }
+
+    private static AnalysisDto analysisDto(ChessGame game, SearchResult result) {
+        AnalysisDto analysisDto = new AnalysisDto();
+        analysisDto.setFen(Fen.format(game));
+        if (result.hasMove()) {
+            analysisDto.setBestMove(Move.toPieceMove(result.getBestMove()).toDto());
+        }
+        analysisDto.setPv(Arrays.stream(result.getPv())
+                .mapToObj(move -> Move.toPieceMove(move).toDto())
+                .toList());
+        analysisDto.setScore(result.getScore());
+        analysisDto.setMateIn(result.isMate() ? result.mateIn() : null);
+        analysisDto.setDepth(result.getDepth());
+        analysisDto.setNodes(result.getNodes());
+        return analysisDto;
+    }
+
     @ExceptionHandler(GameNotFoundException.class)
     public ResponseEntity<Object> handleNotFound() {
         return new ResponseEntity<Object>("game not found", new HttpHeaders(), HttpStatus.NOT_FOUND);
@@ -117,6 +216,16 @@ public class GameController {
         return new ResponseEntity<Object>("bad move", new HttpHeaders(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidFenException.class)
+    public ResponseEntity<Object> handleInvalidFen() {
+        return new ResponseEntity<Object>("bad fen", new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(AnalysisRejectedException.class)
+    public ResponseEntity<Object> handleAnalysisRejected() {
+        return new ResponseEntity<Object>("engine busy", new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(InvalidTokenException.class)
     public ResponseEntity<Object> handleInvalidToken() {
         return new ResponseEntity<Object>("bad token", new HttpHeaders(), HttpStatus.FORBIDDEN);
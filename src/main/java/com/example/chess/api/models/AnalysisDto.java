@@ -0,0 +1,16 @@
+package com.example.chess.api.models;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AnalysisDto {
+    private String fen;
+    private MoveDto bestMove;
+    private List<MoveDto> pv;
+    private int score;
+    private Integer mateIn;
+    private int depth;
+    private long nodes;
+}
@@ -0,0 +1,29 @@
+package com.example.chess.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngineStatsDto {
+    private long hashHits;
+    private long hashMisses;
+    private long hashStores;
+    private double hashHitRate;
+    private int hashfull;
+    private int hashCapacity;
+
+    private int analysisQueueDepth;
+    private int analysisQueueCapacity;
+    private int analysisRunning;
+    private long analysisRejected;
+    private long analysisCompleted;
+    private long analysisCancelled;
+    private long analysisExpired;
+
+    private long analysisCacheHits;
+    private long analysisCacheMisses;
+    private int analysisCacheSize;
+}
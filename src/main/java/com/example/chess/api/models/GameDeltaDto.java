@@ -0,0 +1,17 @@
+package com.example.chess.api.models;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class GameDeltaDto extends GameStatusDto {
+    private int since;
+    private List<MoveDeltaDto> moves;
+    private Map<String, List<String>> validMoves;
+}
@@ -1,18 +1,15 @@
 package com.example.chess.api.models;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 
 @Data
-public class GameStateDto {
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class GameStateDto extends GameStatusDto {
     private List<PieceDto> pieces;
-    private ColorDto currentPlayer;
     private MoveDto lastOpponentMove;
-
-    private boolean myTurn = false;
-    private boolean gameFinished = false;
-    private boolean check = false;
-    private ColorDto winner = null;
-    private String gameFinishedReason = null;
 }
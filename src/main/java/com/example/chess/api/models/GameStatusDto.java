@@ -0,0 +1,16 @@
+package com.example.chess.api.models;
+
+import lombok.Data;
+
+@Data
+public class GameStatusDto {
+    private int ply;
+    private ColorDto currentPlayer;
+    private String fen;
+
+    private boolean myTurn = false;
+    private boolean gameFinished = false;
+    private boolean check = false;
+    private ColorDto winner = null;
+    private String gameFinishedReason = null;
+}
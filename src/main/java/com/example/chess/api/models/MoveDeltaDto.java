@@ -0,0 +1,15 @@
+package com.example.chess.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveDeltaDto {
+    private String from;
+    private String to;
+    private PieceTypeDto captured;
+    private PieceTypeDto promotion;
+}
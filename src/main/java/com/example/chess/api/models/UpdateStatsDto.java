@@ -0,0 +1,25 @@
+package com.example.chess.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateStatsDto {
+    private long published;
+    private long delivered;
+    private long dropped;
+    private int queued;
+    private int subscribers;
+    private double averageLagMillis;
+    private double maxLagMillis;
+
+    private int streams;
+    private int spectators;
+    private long streamFramesSerialized;
+    private long streamEventsSent;
+    private long streamEventsConflated;
+    private long streamSlowConsumersDropped;
+}
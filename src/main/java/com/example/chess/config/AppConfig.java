@@ -1,15 +1,24 @@
 package com.example.chess.config;
 
+import com.example.chess.engine.book.OpeningBook;
+import com.example.chess.engine.tablebase.Tablebase;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 @Configuration
 @RequiredArgsConstructor
 public class AppConfig {
+    private final Logger log = LoggerFactory.getLogger(AppConfig.class);
     private final ApplicationContext applicationContext;
 
     @Bean
@@ -22,4 +31,34 @@ public class AppConfig {
                                 .version("1.0")
                 );
     }
+
+    @Bean
+    public OpeningBook openingBook(@Value("${chess.book.path:}") String path) {
+        if (path.isBlank()) {
+            return OpeningBook.empty();
+        }
+        try {
+            OpeningBook book = OpeningBook.open(Path.of(path));
+            log.info("Opening book {} mapped, {} entries", path, book.size());
+            return book;
+        } catch (IOException e) {
+            log.warn("Opening book {} not loaded: {}", path, e.getMessage());
+            return OpeningBook.empty();
+        }
+    }
+
+    @Bean
+    public Tablebase tablebase(@Value("${chess.tablebase.path:}") String path) {
+        if (path.isBlank()) {
+            return Tablebase.empty();
+        }
+        try {
+            Tablebase tablebase = Tablebase.open(Path.of(path));
+            log.info("Tablebase {} mapped, {} tables up to {} pieces", path, tablebase.tables(), tablebase.maxPieces());
+            return tablebase;
+        } catch (IOException e) {
+            log.warn("Tablebase {} not loaded: {}", path, e.getMessage());
+            return Tablebase.empty();
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.models.Type;
+import com.example.chess.engine.models.piece.Piece;
+import lombok.Getter;
+
+public class AttackMap {
+    private final long[] attacksFrom;
+    private final long[] attacks = new long[PieceColor.values().length];
+
+    @Getter
+    private final long checkers;
+    @Getter
+    private final long pinned;
+
+    private AttackMap(Board board, PieceColor sideToMove, long[] attacksFrom) {
+        this.attacksFrom = attacksFrom;
+        for (PieceColor color : PieceColor.values()) {
+            for (long bits = board.occupancy(color); bits != 0; bits &= bits - 1) {
+                attacks[color.ordinal()] |= attacksFrom[Bitboards.first(bits)];
+            }
+        }
+
+        long king = board.bitboard(sideToMove, Type.KING);
+        if (king == 0) {
+            checkers = Bitboards.EMPTY;
+            pinned = Bitboards.EMPTY;
+        } else {
+            int kingSquare = Bitboards.first(king);
+            checkers = attackersTo(board, kingSquare, sideToMove.negate(), board.occupancy());
+            pinned = pinned(board, kingSquare, sideToMove);
+        }
+    }
+
+    public static AttackMap of(Board board, PieceColor sideToMove) {
+        long[] attacksFrom = new long[64];
+        for (long bits = board.occupancy(); bits != 0; bits &= bits - 1) {
+            int square = Bitboards.first(bits);
+            attacksFrom[square] = attacksFrom(board, square);
+        }
+        return new AttackMap(board, sideToMove, attacksFrom);
+    }
+
+    public AttackMap update(Board board, PieceColor sideToMove, long changedSquares) {
+        long[] next = attacksFrom.clone();
+        long sliders = sliders(board);
+
+        long affected = changedSquares;
+        for (long bits = sliders & ~changedSquares; bits != 0; bits &= bits - 1) {
+            int square = Bitboards.first(bits);
+            if ((attacksFrom[square] & changedSquares) != 0) {
+                affected |= Bitboards.bit(square);
+            }
+        }
+
+        for (long bits = affected; bits != 0; bits &= bits - 1) {
+            int square = Bitboards.first(bits);
+            next[square] = Bitboards.contains(board.occupancy(), square) ? attacksFrom(board, square) : 0;
+        }
+        return new AttackMap(board, sideToMove, next);
+    }
+
+    public long attacks(PieceColor side) {
+        return attacks[side.ordinal()];
+    }
+
+    public boolean isAttacked(int square, PieceColor by) {
+        return Bitboards.contains(attacks[by.ordinal()], square);
+    }
+
+    public boolean inCheck() {
+        return checkers != 0;
+    }
+
+    public static long attackersTo(Board board, int square, PieceColor by, long occupancy) {
+        long rocks = board.bitboard(by, Type.ROCK) | board.bitboard(by, Type.QUEEN);
+        long bishops = board.bitboard(by, Type.BISHOP) | board.bitboard(by, Type.QUEEN);
+        return (Attacks.pawn(by.negate(), square) & board.bitboard(by, Type.PAWN))
+                | (Attacks.knight(square) & board.bitboard(by, Type.KNIGHT))
+                | (Attacks.king(square) & board.bitboard(by, Type.KING))
+                | (Attacks.rock(square, occupancy) & rocks)
+                | (Attacks.bishop(square, occupancy) & bishops);
+    }
+
+    private static long pinned(Board board, int kingSquare, PieceColor side) {
+        PieceColor opponent = side.negate();
+        long snipers = (Attacks.rock(kingSquare, 0)
+                & (board.bitboard(opponent, Type.ROCK) | board.bitboard(opponent, Type.QUEEN)))
+                | (Attacks.bishop(kingSquare, 0)
+                & (board.bitboard(opponent, Type.BISHOP) | board.bitboard(opponent, Type.QUEEN)));
+
+        long pinned = Bitboards.EMPTY;
+        for (long bits = snipers; bits != 0; bits &= bits - 1) {
+            long blockers = Attacks.between(kingSquare, Bitboards.first(bits)) & board.occupancy();
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & board.occupancy(side);
+            }
+        }
+        return pinned;
+    }
+
+    private static long sliders(Board board) {
+        long sliders = Bitboards.EMPTY;
+        for (PieceColor color : PieceColor.values()) {
+            sliders |= board.bitboard(color, Type.ROCK)
+                    | board.bitboard(color, Type.BISHOP)
+                    | board.bitboard(color, Type.QUEEN);
+        }
+        return sliders;
+    }
+
+    private static long attacksFrom(Board board, int square) {
+        Piece piece = board.pieceAt(square);
+        long occupancy = board.occupancy();
+        return switch (piece.getPieceType()) {
+            case KING -> Attacks.king(square);
+            case QUEEN -> Attacks.queen(square, occupancy);
+            case ROCK -> Attacks.rock(square, occupancy);
+            case BISHOP -> Attacks.bishop(square, occupancy);
+            case KNIGHT -> Attacks.knight(square);
+            case PAWN -> Attacks.pawn(piece.getPieceColor(), square);
+        };
+    }
+}
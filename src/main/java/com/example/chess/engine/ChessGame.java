@@ -2,7 +2,13 @@ package com.example.chess.engine;
 
 import com.example.chess.api.models.PieceDto;
 import com.example.chess.api.models.PieceTypeDto;
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.bitboard.Zobrist;
 import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.CastlingRights;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
 import com.example.chess.engine.models.PieceColor;
 import com.example.chess.engine.models.Position;
 import com.example.chess.engine.models.Type;
@@ -10,26 +16,72 @@ import com.example.chess.engine.models.piece.Piece;
 import com.example.chess.engine.models.PieceMove;
 import com.example.chess.exceptions.InvalidMoveException;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Data
-@RequiredArgsConstructor
 public class ChessGame {
+    private static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
     private final PieceColor currentPlayer;
-    private final List<Board> previousStates;
-    private final List<PieceMove> previousMoves;
+    private final MoveHistory previousMoves;
     private final Board board;
+    private final int castlingRights;
+    private final int enPassantSquare;
+    private final long hash;
+    private final int halfmoveClock;
+    private final int fullmoveNumber;
+    private final PositionHistory positionHistory;
 
     private boolean finished = false;
     private PieceColor winner = null;
     private GameStatus status = GameStatus.NORMAL;
     private Map<Position, Set<Position>> validMovesForCurrentPlayer;
+    private AttackMap attackMap;
+
+    public ChessGame(PieceColor currentPlayer, List<PieceMove> previousMoves, Board board) {
+        this(currentPlayer, MoveHistory.of(previousMoves), board,
+                CastlingRights.of(board, previousMoves), enPassantSquare(board, previousMoves),
+                0, 1 + previousMoves.size() / 2, PositionHistory.empty());
+    }
+
+    private ChessGame(PieceColor currentPlayer, MoveHistory previousMoves, Board board, int castlingRights,
+                      int enPassantSquare, int halfmoveClock, int fullmoveNumber, PositionHistory positionHistory) {
+        this.currentPlayer = currentPlayer;
+        this.previousMoves = previousMoves;
+        this.board = board;
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.hash = board.getHash()
+                ^ Zobrist.side(currentPlayer)
+                ^ Zobrist.castling(castlingRights)
+                ^ Zobrist.enPassant(enPassantSquare);
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        this.positionHistory = positionHistory;
+    }
+
+    public static ChessGame of(Board board, PieceColor currentPlayer, int castlingRights, int enPassantSquare,
+                               int halfmoveClock) {
+        return of(board, currentPlayer, castlingRights, enPassantSquare, halfmoveClock, 1);
+    }
+
+    public static ChessGame of(Board board, PieceColor currentPlayer, int castlingRights, int enPassantSquare,
+                               int halfmoveClock, int fullmoveNumber) {
+        int pushed = enPassantSquare + (currentPlayer == PieceColor.WHITE ? -8 : 8);
+        int enPassant = enPassantSquare >= 0
+                && Bitboards.contains(board.bitboard(currentPlayer.negate(), Type.PAWN), pushed)
+                && (Attacks.pawn(currentPlayer.negate(), enPassantSquare) & board.bitboard(currentPlayer, Type.PAWN)) != 0
+                ? enPassantSquare : -1;
+        ChessGame game = new ChessGame(currentPlayer, MoveHistory.empty(), board,
+                castlingRights, enPassant, halfmoveClock, fullmoveNumber, PositionHistory.empty());
+        game.updateGameStatus();
+        return game;
+    }
 
     public static ChessGame start() {
-        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), Board.startBoard());
+        ChessGame game = new ChessGame(PieceColor.WHITE, MoveHistory.empty(), Board.startBoard());
         game.validMovesForCurrentPlayer = game.validMovesForCurrentPlayer();
         return game;
     }
@@ -43,22 +95,66 @@ public class ChessGame {
     }
 
     public ChessGame applyMoveNoValidate(PieceMove pieceMove) {
-        Board boardAfterMove = board.applyMoveNoValidate(pieceMove);
-        List<Board> states = new ArrayList<>(previousStates);
-        states.add(board);
+        return applyMoveNoValidate(Move.of(board, pieceMove));
+    }
+
+    public ChessGame applyMoveNoValidate(int move) {
+        return applyMoveNoValidate(move, null);
+    }
 
-        List<PieceMove> moves = new ArrayList<>(previousMoves);
-        moves.add(pieceMove);
+    private ChessGame applyMoveNoValidate(int move, Type captured) {
+        Board boardAfterMove = board.applyMove(move);
+
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean irreversible = Move.isCapture(move) || Bitboards.contains(board.bitboard(currentPlayer, Type.PAWN), from);
+        int enPassantAfterMove = Move.flags(move) == Move.DOUBLE_PUSH ? enPassantSquare(boardAfterMove, from, to) : -1;
+
+        ChessGame gameAfterMove = new ChessGame(currentPlayer.negate(), previousMoves.append(move, captured),
+                boardAfterMove, CastlingRights.afterMove(castlingRights, from, to), enPassantAfterMove,
+                irreversible ? 0 : halfmoveClock + 1,
+                currentPlayer == PieceColor.BLACK ? fullmoveNumber + 1 : fullmoveNumber,
+                irreversible ? PositionHistory.empty() : positionHistory.push(hash));
+        gameAfterMove.attackMap = getAttackMap().update(boardAfterMove, gameAfterMove.currentPlayer,
+                changedSquares(board, boardAfterMove));
+        return gameAfterMove;
+    }
+
+    private static int enPassantSquare(Board board, List<PieceMove> previousMoves) {
+        if (previousMoves.isEmpty()) {
+            return -1;
+        }
+        PieceMove last = previousMoves.get(previousMoves.size() - 1);
+        return enPassantSquare(board, last.getFrom().getSquare(), last.getTo().getSquare());
+    }
+
+    private static int enPassantSquare(Board after, int from, int to) {
+        Piece moved = after.pieceAt(to);
+        if (moved == null || moved.getPieceType() != Type.PAWN
+                || Bitboards.file(from) != Bitboards.file(to)
+                || Math.abs(Bitboards.rank(from) - Bitboards.rank(to)) != 2) {
+            return -1;
+        }
+        int passed = (from + to) / 2;
+        PieceColor color = moved.getPieceColor();
+        boolean capturable = (Attacks.pawn(color, passed) & after.bitboard(color.negate(), Type.PAWN)) != 0;
+        return capturable ? passed : -1;
+    }
+
+    private static long changedSquares(Board before, Board after) {
+        return (before.occupancy(PieceColor.WHITE) ^ after.occupancy(PieceColor.WHITE))
+                | (before.occupancy(PieceColor.BLACK) ^ after.occupancy(PieceColor.BLACK));
+    }
 
-        return new ChessGame(currentPlayer.negate(), states, moves, boardAfterMove);
+    public AttackMap getAttackMap() {
+        if (attackMap == null) {
+            attackMap = AttackMap.of(board, currentPlayer);
+        }
+        return attackMap;
     }
 
     public boolean kingUnderAttack(PieceColor player) {
-        Set<Position> attackPositions =
-                board.pieces(player.negate()).stream()
-                        .flatMap(p -> p.validPieceMoves(this).stream())
-                        .collect(Collectors.toSet());
-        return attackPositions.contains(board.king(player));
+        return (getAttackMap().attacks(player.negate()) & board.bitboard(player, Type.KING)) != 0;
     }
 
     public void updateGameStatus() {
@@ -78,11 +174,39 @@ public class ChessGame {
             status = GameStatus.DRAW_STALEMATE;
             finished = true;
         }
+        if (!finished && insufficientMaterial()) {
+            status = GameStatus.DRAW_INSUFFICIENT_MATERIAL;
+            finished = true;
+        }
+        if (!finished && halfmoveClock >= 100) {
+            status = GameStatus.DRAW_FIFTY_MOVES;
+            finished = true;
+        }
+        if (!finished && repetitions() >= 3) {
+            status = GameStatus.DRAW_REPETITION;
+            finished = true;
+        }
+    }
+
+    private boolean insufficientMaterial() {
+        long heavy = 0;
+        long bishops = 0;
+        long knights = 0;
+        for (PieceColor color : PieceColor.values()) {
+            heavy |= board.bitboard(color, Type.QUEEN) | board.bitboard(color, Type.ROCK) | board.bitboard(color, Type.PAWN);
+            bishops |= board.bitboard(color, Type.BISHOP);
+            knights |= board.bitboard(color, Type.KNIGHT);
+        }
+        return heavy == 0 && (Long.bitCount(bishops | knights) <= 1
+                || knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0));
+    }
+
+    public int repetitions() {
+        return positionHistory.count(hash) + 1;
     }
 
     private Map<Position, Set<Position>> validMovesForCurrentPlayer() {
-        return board.pieceMap(currentPlayer).values().stream()
-                .collect(Collectors.toMap(Piece::getPosition, p -> p.finallyValidMoves(this)));
+        return MoveGenerator.legalMoves(this);
     }
 
     public boolean empty(Position position) {
@@ -90,20 +214,41 @@ public class ChessGame {
     }
 
     public boolean isUnderAttack(Position position) {
-        Set<Position> attackPositions =
-                board.pieces(currentPlayer.negate()).stream()
-                        .flatMap(p -> p.validPieceMoves(this).stream())
-                        .collect(Collectors.toSet());
-        return attackPositions.contains(position);
+        return getAttackMap().isAttacked(position.getSquare(), currentPlayer.negate());
+    }
+
+    public MoveList legalMoves(MoveList moves) {
+        return MoveGenerator.legalMoves(this, moves);
     }
 
     public ChessGame applyMove(PieceMove pieceMove) {
+        ensureNotFinished();
         ensureMoveValid(pieceMove);
-        ChessGame gameAfterMove = applyMoveNoValidate(pieceMove);
+        return applyValidatedMove(Move.of(board, pieceMove));
+    }
+
+    public ChessGame applyMove(int move) {
+        ensureNotFinished();
+        if (!legalMoves(new MoveList()).contains(move)) {
+            throw new InvalidMoveException("Move is not allowed: " + Move.toString(move));
+        }
+        return applyValidatedMove(move);
+    }
+
+    private ChessGame applyValidatedMove(int move) {
+        Type captured = Move.isEnPassant(move) ? Type.PAWN
+                : Move.isCapture(move) ? board.pieceAt(Move.to(move)).getPieceType() : null;
+        ChessGame gameAfterMove = applyMoveNoValidate(move, captured);
         gameAfterMove.updateGameStatus();
         return gameAfterMove;
     }
 
+    private void ensureNotFinished() {
+        if (finished) {
+            throw new InvalidMoveException("Game is finished: " + status);
+        }
+    }
+
     private void ensureMoveValid(PieceMove pieceMove) {
         Piece piece = at(pieceMove.getFrom()).orElseThrow(() -> new InvalidMoveException(
                 "No piece at position " + pieceMove.getFrom().toString()
@@ -113,13 +258,26 @@ public class ChessGame {
                         && pieceMove.getTo().getY() != 8)) {
             throw new InvalidMoveException("Promotion is only applicable to piece at finish line");
         }
+        if (pieceMove.getPromotion() != null && !Move.isPromotable(pieceMove.getPromotion())) {
+            throw new InvalidMoveException("Piece cannot be promoted to: " + pieceMove.getPromotion());
+        }
 
-        Set<Position> validMoves = piece.finallyValidMoves(this);
-        if (!validMoves.contains(pieceMove.getTo())) {
+        long validMoves = MoveGenerator.legalTargets(this, piece.getPosition().getSquare());
+        if (!Bitboards.contains(validMoves, pieceMove.getTo().getSquare())) {
             throw new InvalidMoveException("Piece is not allowed to be moved to: " + pieceMove.getTo().toString());
         }
     }
 
+    public Map<String, List<String>> calculateValidMoveDtos() {
+        Map<String, List<String>> validMoves = new TreeMap<>();
+        validMovesForCurrentPlayer.forEach((from, targets) -> {
+            if (!targets.isEmpty()) {
+                validMoves.put(from.toString(), targets.stream().map(Position::toString).sorted().toList());
+            }
+        });
+        return validMoves;
+    }
+
     public List<PieceDto> calculatePieceDtos(boolean withValidMoves) {
         return board.pieces()
                 .stream()
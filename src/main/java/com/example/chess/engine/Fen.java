@@ -0,0 +1,248 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.CastlingRights;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.models.Type;
+import com.example.chess.engine.models.piece.Piece;
+
+import java.util.Collections;
+
+public final class Fen {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECES = "KQRBNPkqrbnp";
+    private static final int TYPES = Type.values().length;
+
+    private Fen() {
+    }
+
+    public static ChessGame parse(String fen) {
+        if (fen == null) {
+            throw new IllegalArgumentException("FEN invalid: null");
+        }
+        return new Parser(fen).parse();
+    }
+
+    public static String format(ChessGame game) {
+        Board board = game.getBoard();
+        StringBuilder fen = new StringBuilder(92);
+
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                Piece piece = board.pieceAt(Bitboards.square(file, rank));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                fen.append(PIECES.charAt(piece.getPieceColor().ordinal() * TYPES + piece.getPieceType().ordinal()));
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (rank > 0) {
+                fen.append('/');
+            }
+        }
+
+        fen.append(game.getCurrentPlayer() == PieceColor.WHITE ? " w " : " b ");
+
+        int rights = game.getCastlingRights();
+        if (rights == CastlingRights.NONE) {
+            fen.append('-');
+        } else {
+            appendIf(fen, rights, CastlingRights.WHITE_KING_SIDE, 'K');
+            appendIf(fen, rights, CastlingRights.WHITE_QUEEN_SIDE, 'Q');
+            appendIf(fen, rights, CastlingRights.BLACK_KING_SIDE, 'k');
+            appendIf(fen, rights, CastlingRights.BLACK_QUEEN_SIDE, 'q');
+        }
+
+        int enPassant = game.getEnPassantSquare();
+        if (enPassant < 0) {
+            fen.append(" -");
+        } else {
+            fen.append(' ')
+                    .append((char) ('a' + Bitboards.file(enPassant)))
+                    .append((char) ('1' + Bitboards.rank(enPassant)));
+        }
+
+        return fen.append(' ').append(game.getHalfmoveClock())
+                .append(' ').append(game.getFullmoveNumber())
+                .toString();
+    }
+
+    private static void appendIf(StringBuilder fen, int rights, int right, char c) {
+        if ((rights & right) != 0) {
+            fen.append(c);
+        }
+    }
+
+    private static final class Parser {
+        private final String fen;
+        private int index;
+
+        Parser(String fen) {
+            this.fen = fen;
+        }
+
+        ChessGame parse() {
+            skipSpaces();
+            long[] bitboards = new long[PIECES.length()];
+            placement(bitboards);
+            Board board = Board.of(bitboards);
+
+            separator();
+            PieceColor currentPlayer = switch (next()) {
+                case 'w' -> PieceColor.WHITE;
+                case 'b' -> PieceColor.BLACK;
+                default -> throw invalid("side to move");
+            };
+
+            separator();
+            int castlingRights = castling() & CastlingRights.of(board, Collections.emptyList());
+
+            separator();
+            int enPassantSquare = enPassant(currentPlayer);
+
+            int halfmoveClock = 0;
+            int fullmoveNumber = 1;
+            if (skipSpaces()) {
+                halfmoveClock = number();
+                separator();
+                fullmoveNumber = Math.max(1, number());
+                skipSpaces();
+            }
+            if (index != fen.length()) {
+                throw invalid("trailing characters");
+            }
+
+            validate(board, currentPlayer);
+            return ChessGame.of(board, currentPlayer, castlingRights, enPassantSquare, halfmoveClock, fullmoveNumber);
+        }
+
+        private void placement(long[] bitboards) {
+            int rank = 7;
+            int file = 0;
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                char c = fen.charAt(index++);
+                if (c == '/') {
+                    if (file != 8 || rank == 0) {
+                        throw invalid("rank " + (rank + 1));
+                    }
+                    rank--;
+                    file = 0;
+                } else if (c >= '1' && c <= '8') {
+                    file += c - '0';
+                    if (file > 8) {
+                        throw invalid("rank " + (rank + 1));
+                    }
+                } else {
+                    int piece = PIECES.indexOf(c);
+                    if (piece < 0 || file > 7) {
+                        throw invalid("piece '" + c + "'");
+                    }
+                    bitboards[piece] |= Bitboards.bit(Bitboards.square(file++, rank));
+                }
+            }
+            if (rank != 0 || file != 8) {
+                throw invalid("placement");
+            }
+        }
+
+        private int castling() {
+            if (peek() == '-') {
+                index++;
+                return CastlingRights.NONE;
+            }
+            int rights = CastlingRights.NONE;
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                rights |= switch (fen.charAt(index++)) {
+                    case 'K' -> CastlingRights.WHITE_KING_SIDE;
+                    case 'Q' -> CastlingRights.WHITE_QUEEN_SIDE;
+                    case 'k' -> CastlingRights.BLACK_KING_SIDE;
+                    case 'q' -> CastlingRights.BLACK_QUEEN_SIDE;
+                    default -> throw invalid("castling rights");
+                };
+            }
+            return rights;
+        }
+
+        private int enPassant(PieceColor currentPlayer) {
+            char file = next();
+            if (file == '-') {
+                return -1;
+            }
+            char rank = next();
+            char expected = currentPlayer == PieceColor.WHITE ? '6' : '3';
+            if (file < 'a' || file > 'h' || rank != expected) {
+                throw invalid("en passant square");
+            }
+            return Bitboards.square(file - 'a', rank - '1');
+        }
+
+        private int number() {
+            int start = index;
+            int value = 0;
+            while (index < fen.length() && Character.isDigit(fen.charAt(index)) && index - start < 6) {
+                value = value * 10 + fen.charAt(index++) - '0';
+            }
+            if (index == start) {
+                throw invalid("move counter");
+            }
+            return value;
+        }
+
+        private void validate(Board board, PieceColor currentPlayer) {
+            for (PieceColor color : PieceColor.values()) {
+                if (Long.bitCount(board.bitboard(color, Type.KING)) != 1) {
+                    throw invalid("expected one " + color + " king");
+                }
+            }
+            long pawns = board.bitboard(PieceColor.WHITE, Type.PAWN) | board.bitboard(PieceColor.BLACK, Type.PAWN);
+            if ((pawns & 0xFF000000000000FFL) != 0) {
+                throw invalid("pawn on first or last rank");
+            }
+            PieceColor waiting = currentPlayer.negate();
+            int king = Bitboards.first(board.bitboard(waiting, Type.KING));
+            if (AttackMap.attackersTo(board, king, currentPlayer, board.occupancy()) != 0) {
+                throw invalid(waiting + " king can be captured");
+            }
+        }
+
+        private boolean skipSpaces() {
+            int start = index;
+            while (index < fen.length() && fen.charAt(index) == ' ') {
+                index++;
+            }
+            return index > start && index < fen.length();
+        }
+
+        private void separator() {
+            if (peek() != ' ') {
+                throw invalid("missing field");
+            }
+            skipSpaces();
+        }
+
+        private char peek() {
+            return index < fen.length() ? fen.charAt(index) : 0;
+        }
+
+        private char next() {
+            if (index >= fen.length()) {
+                throw invalid("missing field");
+            }
+            return fen.charAt(index++);
+        }
+
+        private IllegalArgumentException invalid(String what) {
+            return new IllegalArgumentException("FEN invalid (" + what + "): " + fen);
+        }
+    }
+}
@@ -4,5 +4,8 @@ public enum GameStatus {
     CHECK,
     CHECKMATE,
     DRAW_STALEMATE,
+    DRAW_REPETITION,
+    DRAW_FIFTY_MOVES,
+    DRAW_INSUFFICIENT_MATERIAL,
     NORMAL
 }
@@ -0,0 +1,198 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public final class MoveGenerator {
+    private static final long ALL = ~Bitboards.EMPTY;
+    private static final Type[] PROMOTIONS = {Type.QUEEN, Type.ROCK, Type.BISHOP, Type.KNIGHT};
+
+    private MoveGenerator() {
+    }
+
+    public static Map<Position, Set<Position>> legalMoves(ChessGame game) {
+        Board board = game.getBoard();
+        Map<Position, Set<Position>> moves = new HashMap<>();
+        for (long bits = board.occupancy(game.getCurrentPlayer()); bits != 0; bits &= bits - 1) {
+            int square = Bitboards.first(bits);
+            moves.put(Position.ofSquare(square), SquareSet.of(legalTargets(game, square)));
+        }
+        return moves;
+    }
+
+    public static MoveList legalMoves(ChessGame game, MoveList moves) {
+        moves.clear();
+        Board board = game.getBoard();
+        PieceColor us = game.getCurrentPlayer();
+        long enemies = board.occupancy(us.negate());
+        long pawns = board.bitboard(us, Type.PAWN);
+        long king = board.bitboard(us, Type.KING);
+
+        for (long pieces = board.occupancy(us); pieces != 0; pieces &= pieces - 1) {
+            int from = Bitboards.first(pieces);
+            for (long targets = legalTargets(game, from); targets != 0; targets &= targets - 1) {
+                int to = Bitboards.first(targets);
+                boolean capture = Bitboards.contains(enemies, to);
+                if (Bitboards.contains(pawns, from)) {
+                    addPawnMoves(moves, from, to, capture, game.getEnPassantSquare());
+                } else if (Bitboards.contains(king, from) && Math.abs(to - from) == 2) {
+                    moves.add(Move.of(from, to, to > from ? Move.KING_CASTLE : Move.QUEEN_CASTLE));
+                } else {
+                    moves.add(Move.of(from, to, capture ? Move.CAPTURE : Move.QUIET));
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static void addPawnMoves(MoveList moves, int from, int to, boolean capture, int enPassantSquare) {
+        int rank = Bitboards.rank(to);
+        if (rank == 0 || rank == 7) {
+            for (Type promotion : PROMOTIONS) {
+                moves.add(Move.promotion(from, to, promotion, capture));
+            }
+        } else if (to == enPassantSquare) {
+            moves.add(Move.of(from, to, Move.EN_PASSANT));
+        } else if (Math.abs(to - from) == 16) {
+            moves.add(Move.of(from, to, Move.DOUBLE_PUSH));
+        } else {
+            moves.add(Move.of(from, to, capture ? Move.CAPTURE : Move.QUIET));
+        }
+    }
+
+    public static long legalTargets(ChessGame game, int from) {
+        Board board = game.getBoard();
+        PieceColor us = game.getCurrentPlayer();
+        if (!Bitboards.contains(board.occupancy(us), from)) {
+            return Bitboards.EMPTY;
+        }
+
+        AttackMap attackMap = game.getAttackMap();
+        long king = board.bitboard(us, Type.KING);
+        int kingSquare = king == 0 ? -1 : Bitboards.first(king);
+        Type type = board.pieceAt(from).getPieceType();
+
+        if (type == Type.KING) {
+            return kingTargets(game, from, attackMap);
+        }
+        long checkers = attackMap.getCheckers();
+        if (Long.bitCount(checkers) > 1) {
+            return Bitboards.EMPTY;
+        }
+
+        long targets = pseudoTargets(board, type, us, from) & checkMask(kingSquare, checkers);
+        if (Bitboards.contains(attackMap.getPinned(), from)) {
+            targets &= Attacks.line(kingSquare, from);
+        }
+        if (type == Type.PAWN) {
+            targets |= enPassantTarget(game, from, kingSquare);
+        }
+        return targets;
+    }
+
+    private static long checkMask(int kingSquare, long checkers) {
+        if (checkers == 0) {
+            return ALL;
+        }
+        int checker = Bitboards.first(checkers);
+        return checkers | Attacks.between(kingSquare, checker);
+    }
+
+    private static long pseudoTargets(Board board, Type type, PieceColor us, int from) {
+        long own = board.occupancy(us);
+        long occupancy = board.occupancy();
+        return switch (type) {
+            case QUEEN -> Attacks.queen(from, occupancy) & ~own;
+            case ROCK -> Attacks.rock(from, occupancy) & ~own;
+            case BISHOP -> Attacks.bishop(from, occupancy) & ~own;
+            case KNIGHT -> Attacks.knight(from) & ~own;
+            case PAWN -> pawnTargets(board, us, from);
+            case KING -> Attacks.king(from) & ~own;
+        };
+    }
+
+    private static long pawnTargets(Board board, PieceColor us, int from) {
+        long occupancy = board.occupancy();
+        long targets = Attacks.pawn(us, from) & board.occupancy(us.negate());
+
+        int step = us == PieceColor.WHITE ? 8 : -8;
+        int single = from + step;
+        if (single < 0 || single > 63 || Bitboards.contains(occupancy, single)) {
+            return targets;
+        }
+        targets |= Bitboards.bit(single);
+
+        int startRank = us == PieceColor.WHITE ? 1 : 6;
+        int twice = single + step;
+        if (Bitboards.rank(from) == startRank && !Bitboards.contains(occupancy, twice)) {
+            targets |= Bitboards.bit(twice);
+        }
+        return targets;
+    }
+
+    private static long enPassantTarget(ChessGame game, int from, int kingSquare) {
+        int target = game.getEnPassantSquare();
+        PieceColor us = game.getCurrentPlayer();
+        if (target < 0 || !Bitboards.contains(Attacks.pawn(us, from), target)) {
+            return Bitboards.EMPTY;
+        }
+        if (kingSquare < 0) {
+            return Bitboards.bit(target);
+        }
+
+        Board board = game.getBoard();
+        int captured = Bitboards.square(Bitboards.file(target), Bitboards.rank(from));
+        long occupancy = (board.occupancy() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(target);
+        long attackers = AttackMap.attackersTo(board, kingSquare, us.negate(), occupancy) & ~Bitboards.bit(captured);
+        return attackers == 0 ? Bitboards.bit(target) : Bitboards.EMPTY;
+    }
+
+    private static long kingTargets(ChessGame game, int from, AttackMap attackMap) {
+        Board board = game.getBoard();
+        PieceColor us = game.getCurrentPlayer();
+        long occupancy = board.occupancy() ^ Bitboards.bit(from);
+
+        long targets = Attacks.king(from) & ~board.occupancy(us);
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int to = Bitboards.first(bits);
+            if (AttackMap.attackersTo(board, to, us.negate(), occupancy) != 0) {
+                targets ^= Bitboards.bit(to);
+            }
+        }
+        return targets | castlingTargets(game, from, attackMap);
+    }
+
+    private static long castlingTargets(ChessGame game, int from, AttackMap attackMap) {
+        PieceColor us = game.getCurrentPlayer();
+        int start = CastlingRights.kingSquare(us);
+        int rights = game.getCastlingRights();
+        if (from != start || attackMap.inCheck() || rights == CastlingRights.NONE) {
+            return Bitboards.EMPTY;
+        }
+
+        Board board = game.getBoard();
+        long rocks = board.bitboard(us, Type.ROCK);
+        long occupancy = board.occupancy();
+        long attacked = attackMap.attacks(us.negate());
+
+        long targets = Bitboards.EMPTY;
+        long kingSide = Bitboards.bit(start + 1) | Bitboards.bit(start + 2);
+        if ((rights & CastlingRights.kingSide(us)) != 0 && Bitboards.contains(rocks, CastlingRights.kingSideRock(us))
+                && (occupancy & kingSide) == 0 && (attacked & kingSide) == 0) {
+            targets |= Bitboards.bit(start + 2);
+        }
+
+        long queenSidePath = Bitboards.bit(start - 1) | Bitboards.bit(start - 2);
+        long queenSide = queenSidePath | Bitboards.bit(start - 3);
+        if ((rights & CastlingRights.queenSide(us)) != 0 && Bitboards.contains(rocks, CastlingRights.queenSideRock(us))
+                && (occupancy & queenSide) == 0 && (attacked & queenSidePath) == 0) {
+            targets |= Bitboards.bit(start - 2);
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Type;
+
+import java.util.*;
+
+public final class MoveHistory extends AbstractList<PieceMove> {
+    private static final MoveHistory EMPTY = new MoveHistory(Move.NONE, null, null, 0);
+
+    public record Entry(PieceMove move, Type captured) {
+    }
+
+    private final int move;
+    private final Type captured;
+    private final MoveHistory previous;
+    private final int size;
+
+    private MoveHistory(int move, Type captured, MoveHistory previous, int size) {
+        this.move = move;
+        this.captured = captured;
+        this.previous = previous;
+        this.size = size;
+    }
+
+    public static MoveHistory empty() {
+        return EMPTY;
+    }
+
+    public static MoveHistory of(List<PieceMove> moves) {
+        if (moves instanceof MoveHistory history) {
+            return history;
+        }
+        MoveHistory history = EMPTY;
+        for (PieceMove move : moves) {
+            history = history.append(move);
+        }
+        return history;
+    }
+
+    public MoveHistory append(PieceMove move) {
+        int from = move.getFrom().getSquare();
+        int to = move.getTo().getSquare();
+        return append(move.getPromotion() == null
+                ? Move.of(from, to, Move.QUIET)
+                : Move.promotion(from, to, move.getPromotion(), false));
+    }
+
+    public MoveHistory append(int move) {
+        return append(move, null);
+    }
+
+    public MoveHistory append(int move, Type captured) {
+        return new MoveHistory(move, captured, this, size + 1);
+    }
+
+    public Optional<PieceMove> last() {
+        return size == 0 ? Optional.empty() : Optional.of(Move.toPieceMove(move));
+    }
+
+    public List<Entry> since(int ply) {
+        Objects.checkFromToIndex(ply, size, size);
+        Entry[] entries = new Entry[size - ply];
+        MoveHistory node = this;
+        for (int i = entries.length - 1; i >= 0; i--) {
+            entries[i] = new Entry(Move.toPieceMove(node.move), node.captured);
+            node = node.previous;
+        }
+        return List.of(entries);
+    }
+
+    @Override
+    public PieceMove get(int index) {
+        Objects.checkIndex(index, size);
+        MoveHistory node = this;
+        for (int i = size - 1; i > index; i--) {
+            node = node.previous;
+        }
+        return Move.toPieceMove(node.move);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<PieceMove> iterator() {
+        PieceMove[] moves = new PieceMove[size];
+        MoveHistory node = this;
+        for (int i = size - 1; i >= 0; i--) {
+            moves[i] = Move.toPieceMove(node.move);
+            node = node.previous;
+        }
+        return Collections.unmodifiableList(Arrays.asList(moves)).iterator();
+    }
+}
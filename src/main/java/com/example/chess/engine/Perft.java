@@ -0,0 +1,152 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import lombok.Value;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public final class Perft {
+    public static final String STANDARD_SUITE = "/perft/standard.epd";
+
+    private Perft() {
+    }
+
+    public static long perft(ChessGame game, int depth) {
+        return perft(game, depth, buffers(depth));
+    }
+
+    public static Map<String, Long> divide(ChessGame game, int depth) {
+        MoveList[] buffers = buffers(depth);
+        MoveList moves = game.legalMoves(new MoveList());
+        Map<String, Long> divide = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            divide.put(Move.toString(move), perft(game.applyMoveNoValidate(move), depth - 1, buffers));
+        }
+        return divide;
+    }
+
+    private static long perft(ChessGame game, int depth, MoveList[] buffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = game.legalMoves(buffers[depth]);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            nodes += perft(game.applyMoveNoValidate(moves.get(i)), depth - 1, buffers);
+        }
+        return nodes;
+    }
+
+    private static MoveList[] buffers(int depth) {
+        MoveList[] buffers = new MoveList[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+            buffers[i] = new MoveList();
+        }
+        return buffers;
+    }
+
+    public static List<Entry> suite(Reader reader) throws IOException {
+        List<Entry> suite = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                suite.add(Entry.of(line));
+            }
+        }
+        return suite;
+    }
+
+    public static List<Entry> standardSuite() throws IOException {
+        try (InputStream in = Perft.class.getResourceAsStream(STANDARD_SUITE)) {
+            return suite(new InputStreamReader(Objects.requireNonNull(in, STANDARD_SUITE), StandardCharsets.UTF_8));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2 && args[0].equals("divide")) {
+            int depth = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            long start = System.nanoTime();
+            long total = 0;
+            for (Map.Entry<String, Long> entry : divide(Fen.parse(args[1]), depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            report(total, System.nanoTime() - start);
+            return;
+        }
+
+        List<Entry> suite = args.length > 0 && !args[0].equals("-")
+                ? suite(Files.newBufferedReader(Path.of(args[0])))
+                : standardSuite();
+        int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+
+        boolean failed = false;
+        long allNodes = 0;
+        long allNanos = 0;
+        for (Entry entry : suite) {
+            ChessGame game = Fen.parse(entry.getFen());
+            System.out.println(entry.getFen());
+            for (int depth = 1; depth <= Math.min(maxDepth, entry.maxDepth()); depth++) {
+                long start = System.nanoTime();
+                long nodes = perft(game, depth);
+                long nanos = System.nanoTime() - start;
+                boolean ok = nodes == entry.expected(depth);
+                failed |= !ok;
+                allNodes += nodes;
+                allNanos += nanos;
+                System.out.printf("  D%d %12d %s (expected %d) %8d ms %10d nps%n", depth, nodes, ok ? "ok" : "FAIL",
+                        entry.expected(depth), nanos / 1_000_000, nps(nodes, nanos));
+            }
+        }
+        report(allNodes, allNanos);
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static void report(long nodes, long nanos) {
+        System.out.printf("Nodes: %d, time: %d ms, %d nps%n", nodes, nanos / 1_000_000, nps(nodes, nanos));
+    }
+
+    private static long nps(long nodes, long nanos) {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    @Value
+    public static class Entry {
+        String fen;
+        long[] expected;
+
+        static Entry of(String line) {
+            String[] fields = line.split(";");
+            long[] expected = new long[fields.length];
+            for (int i = 1; i < fields.length; i++) {
+                String field = fields[i].trim();
+                int space = field.indexOf(' ');
+                int depth = Integer.parseInt(field.substring(1, space));
+                if (depth >= expected.length) {
+                    expected = Arrays.copyOf(expected, depth + 1);
+                }
+                expected[depth] = Long.parseLong(field.substring(space + 1).trim());
+            }
+            return new Entry(fields[0].trim(), expected);
+        }
+
+        public int maxDepth() {
+            return expected.length - 1;
+        }
+
+        public long expected(int depth) {
+            return expected[depth];
+        }
+    }
+}
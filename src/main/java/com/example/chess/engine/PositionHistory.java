@@ -0,0 +1,37 @@
+package com.example.chess.engine;
+
+public final class PositionHistory {
+    private static final PositionHistory EMPTY = new PositionHistory(0, null, 0);
+
+    private final long hash;
+    private final PositionHistory previous;
+    private final int size;
+
+    private PositionHistory(long hash, PositionHistory previous, int size) {
+        this.hash = hash;
+        this.previous = previous;
+        this.size = size;
+    }
+
+    public static PositionHistory empty() {
+        return EMPTY;
+    }
+
+    public PositionHistory push(long hash) {
+        return new PositionHistory(hash, this, size + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(long hash) {
+        int count = 0;
+        for (PositionHistory node = this; node.size > 0; node = node.previous) {
+            if (node.hash == hash) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
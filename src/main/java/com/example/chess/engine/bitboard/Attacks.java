@@ -0,0 +1,210 @@
+package com.example.chess.engine.bitboard;
+
+import com.example.chess.engine.models.PieceColor;
+
+public final class Attacks {
+    private static final int[][] ROCK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    private static final int[][] WHITE_PAWN_CAPTURES = {{-1, 1}, {1, 1}};
+    private static final int[][] BLACK_PAWN_CAPTURES = {{-1, -1}, {1, -1}};
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final long[] SEEDS = {728, 10316, 55013, 32803, 12281, 15100, 16645, 255};
+
+    private static final Magic[] ROCK_MAGICS = new Magic[64];
+    private static final Magic[] BISHOP_MAGICS = new Magic[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            ROCK_MAGICS[square] = new MagicFinder(SEEDS[Bitboards.rank(square)]).find(square, ROCK_DIRECTIONS);
+            BISHOP_MAGICS[square] = new MagicFinder(SEEDS[Bitboards.rank(square)]).find(square, BISHOP_DIRECTIONS);
+
+            KNIGHT[square] = steps(square, KNIGHT_JUMPS);
+            KING[square] = steps(square, KING_STEPS);
+            PAWN[PieceColor.WHITE.ordinal()][square] = steps(square, WHITE_PAWN_CAPTURES);
+            PAWN[PieceColor.BLACK.ordinal()][square] = steps(square, BLACK_PAWN_CAPTURES);
+        }
+
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long ends = Bitboards.bit(a) | Bitboards.bit(b);
+                if ((rock(a, 0) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = rock(a, Bitboards.bit(b)) & rock(b, Bitboards.bit(a));
+                    LINE[a][b] = (rock(a, 0) & rock(b, 0)) | ends;
+                } else if ((bishop(a, 0) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = bishop(a, Bitboards.bit(b)) & bishop(b, Bitboards.bit(a));
+                    LINE[a][b] = (bishop(a, 0) & bishop(b, 0)) | ends;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    public static long rock(int square, long occupancy) {
+        return ROCK_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long bishop(int square, long occupancy) {
+        return BISHOP_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long queen(int square, long occupancy) {
+        return rock(square, occupancy) | bishop(square, occupancy);
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    public static long pawn(PieceColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    private static long steps(int square, int[][] deltas) {
+        long attacks = Bitboards.EMPTY;
+        for (int[] delta : deltas) {
+            int file = Bitboards.file(square) + delta[0];
+            int rank = Bitboards.rank(square) + delta[1];
+            if (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+                attacks |= Bitboards.bit(Bitboards.square(file, rank));
+            }
+        }
+        return attacks;
+    }
+
+    static long slidingAttacks(int square, long occupancy, int[][] directions) {
+        long attacks = Bitboards.EMPTY;
+        for (int[] direction : directions) {
+            int file = Bitboards.file(square) + direction[0];
+            int rank = Bitboards.rank(square) + direction[1];
+            while (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+                long bit = Bitboards.bit(Bitboards.square(file, rank));
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = Bitboards.EMPTY;
+        for (int[] direction : directions) {
+            int file = Bitboards.file(square) + direction[0];
+            int rank = Bitboards.rank(square) + direction[1];
+            while (file + direction[0] >= 0 && file + direction[0] < 8
+                    && rank + direction[1] >= 0 && rank + direction[1] < 8) {
+                mask |= Bitboards.bit(Bitboards.square(file, rank));
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static final class Magic {
+        private final long mask;
+        private final long magic;
+        private final int shift;
+        private final long[] attacks;
+
+        private Magic(long mask, long magic, int shift, long[] attacks) {
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = shift;
+            this.attacks = attacks;
+        }
+
+        long attacks(long occupancy) {
+            return attacks[(int) (((occupancy & mask) * magic) >>> shift)];
+        }
+    }
+
+    private static final class MagicFinder {
+        private long seed;
+
+        private MagicFinder(long seed) {
+            this.seed = seed;
+        }
+
+        Magic find(int square, int[][] directions) {
+            long mask = relevantMask(square, directions);
+            int bits = Long.bitCount(mask);
+            int size = 1 << bits;
+            int shift = 64 - bits;
+
+            long[] occupancies = new long[size];
+            long[] attacks = new long[size];
+            long subset = 0;
+            for (int i = 0; i < size; i++) {
+                occupancies[i] = subset;
+                attacks[i] = slidingAttacks(square, subset, directions);
+                subset = (subset - mask) & mask;
+            }
+
+            long[] table = new long[size];
+            int[] epoch = new int[size];
+            for (int attempt = 1; ; attempt++) {
+                long magic = sparseRandom();
+                if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                    continue;
+                }
+                if (fill(magic, shift, occupancies, attacks, table, epoch, attempt)) {
+                    return new Magic(mask, magic, shift, table);
+                }
+            }
+        }
+
+        private boolean fill(long magic, int shift, long[] occupancies, long[] attacks,
+                             long[] table, int[] epoch, int attempt) {
+            for (int i = 0; i < occupancies.length; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> shift);
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long sparseRandom() {
+            return next() & next() & next();
+        }
+
+        private long next() {
+            seed ^= seed >>> 12;
+            seed ^= seed << 25;
+            seed ^= seed >>> 27;
+            return seed * 0x2545F4914F6CDD1DL;
+        }
+    }
+}
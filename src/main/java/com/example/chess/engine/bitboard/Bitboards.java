@@ -0,0 +1,32 @@
+package com.example.chess.engine.bitboard;
+
+public final class Bitboards {
+    public static final long EMPTY = 0L;
+
+    private Bitboards() {
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static boolean contains(long bitboard, int square) {
+        return (bitboard & bit(square)) != 0;
+    }
+
+    public static int square(int file, int rank) {
+        return rank * 8 + file;
+    }
+
+    public static int file(int square) {
+        return square & 7;
+    }
+
+    public static int rank(int square) {
+        return square >>> 3;
+    }
+
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.chess.engine.bitboard;
+
+import com.example.chess.engine.models.PieceColor;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+    private static final long[][] PIECES = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2C1F_3A5B_7D9E_0F11L);
+        for (long[] piece : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                piece[square] = random.nextLong();
+            }
+        }
+
+        long[] castlingBits = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for (int rights = 0; rights < CASTLING.length; rights++) {
+            for (int bit = 0; bit < castlingBits.length; bit++) {
+                if ((rights & (1 << bit)) != 0) {
+                    CASTLING[rights] ^= castlingBits[bit];
+                }
+            }
+        }
+
+        for (int file = 0; file < EN_PASSANT.length; file++) {
+            EN_PASSANT[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(int pieceIndex, int square) {
+        return PIECES[pieceIndex][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    public static long enPassant(int square) {
+        return square < 0 ? 0 : EN_PASSANT[Bitboards.file(square)];
+    }
+
+    public static long side(PieceColor sideToMove) {
+        return sideToMove == PieceColor.BLACK ? BLACK_TO_MOVE : 0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.chess.engine.book;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+public final class OpeningBook {
+    static final int ENTRY_BYTES = 16;
+
+    private static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(0));
+
+    private final ByteBuffer entries;
+    private final int size;
+
+    private OpeningBook(ByteBuffer entries) {
+        this.entries = entries;
+        this.size = entries.capacity() / ENTRY_BYTES;
+    }
+
+    public static OpeningBook empty() {
+        return EMPTY;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % ENTRY_BYTES != 0 || length / ENTRY_BYTES > Integer.MAX_VALUE / ENTRY_BYTES) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int bestMove(ChessGame game) {
+        long hash = game.getHash();
+        int first = first(hash);
+        if (first == size || key(first) != hash) {
+            return Move.NONE;
+        }
+
+        int best = Move.NONE;
+        int bestWeight = 0;
+        MoveList legal = game.legalMoves(new MoveList());
+        for (int i = first; i < size && key(i) == hash; i++) {
+            if (weight(i) > bestWeight && legal.contains(move(i))) {
+                best = move(i);
+                bestWeight = weight(i);
+            }
+        }
+        return best;
+    }
+
+    public int move(ChessGame game, RandomGenerator random) {
+        long hash = game.getHash();
+        int first = first(hash);
+        if (first == size || key(first) != hash) {
+            return Move.NONE;
+        }
+
+        MoveList legal = game.legalMoves(new MoveList());
+        int total = 0;
+        for (int i = first; i < size && key(i) == hash; i++) {
+            if (legal.contains(move(i))) {
+                total += weight(i);
+            }
+        }
+        if (total == 0) {
+            return Move.NONE;
+        }
+
+        int pick = random.nextInt(total);
+        for (int i = first; i < size && key(i) == hash; i++) {
+            if (legal.contains(move(i))) {
+                pick -= weight(i);
+                if (pick < 0) {
+                    return move(i);
+                }
+            }
+        }
+        return Move.NONE;
+    }
+
+    private int first(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(key(mid), hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long key(int index) {
+        return entries.getLong(index * ENTRY_BYTES);
+    }
+
+    private int move(int index) {
+        return entries.getShort(index * ENTRY_BYTES + 8) & 0xFFFF;
+    }
+
+    private int weight(int index) {
+        return entries.getShort(index * ENTRY_BYTES + 10) & 0xFFFF;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.chess.engine.book;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public final class OpeningBookBuilder {
+    public static final int DEFAULT_MAX_PLY = 16;
+
+    private final int maxPly;
+    private final Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+
+    public OpeningBookBuilder(int maxPly) {
+        this.maxPly = maxPly;
+    }
+
+    public OpeningBookBuilder addLine(String line) {
+        ChessGame game = ChessGame.start();
+        MoveList legal = new MoveList();
+        StringTokenizer tokens = new StringTokenizer(line);
+        for (int ply = 0; ply < maxPly && tokens.hasMoreTokens(); ply++) {
+            String token = tokens.nextToken();
+            int move = find(game.legalMoves(legal), token);
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Illegal move " + token + " in line: " + line);
+            }
+            weights.computeIfAbsent(game.getHash(), hash -> new HashMap<>()).merge(move, 1, Integer::sum);
+            game = game.applyMoveNoValidate(move);
+        }
+        return this;
+    }
+
+    public OpeningBookBuilder addLines(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                addLine(line);
+            }
+        }
+        return this;
+    }
+
+    public int write(Path path) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        weights.forEach((hash, moves) -> moves.forEach((move, weight) ->
+                entries.add(new long[]{hash, move, Math.min(weight, 0xFFFF)})));
+        entries.sort((a, b) -> a[0] != b[0] ? Long.compareUnsigned(a[0], b[0]) : Long.compare(b[2], a[2]));
+
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * OpeningBook.ENTRY_BYTES);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0])
+                    .putShort((short) entry[1])
+                    .putShort((short) entry[2])
+                    .putInt(0);
+        }
+        Files.write(path, buffer.array());
+        return entries.size();
+    }
+
+    private static int find(MoveList legal, String token) {
+        for (int i = 0; i < legal.size(); i++) {
+            if (Move.toString(legal.get(i)).equalsIgnoreCase(token)) {
+                return legal.get(i);
+            }
+        }
+        return Move.NONE;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: OpeningBookBuilder <lines.txt|-> <book.bin> [maxPly]");
+            System.exit(1);
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLY);
+        try (Reader reader = args[0].equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            builder.addLines(reader);
+        }
+        Path book = Path.of(args[1]).toAbsolutePath();
+        Files.createDirectories(book.getParent());
+        int entries = builder.write(book);
+        System.out.println("wrote " + entries + " entries to " + args[1]);
+    }
+}
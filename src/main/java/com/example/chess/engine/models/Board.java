@@ -1,24 +1,55 @@
 package com.example.chess.engine.models;
 
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.bitboard.Zobrist;
 import com.example.chess.engine.models.piece.*;
 import lombok.NoArgsConstructor;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @NoArgsConstructor
 public class Board implements Cloneable{
-    final Map<Position, Piece> whitePieces = new HashMap<>();
-    final Map<Position, Piece> blackPieces = new HashMap<>();
+    private static final PieceColor[] COLORS = PieceColor.values();
+    private static final Type[] TYPES = Type.values();
+    private static final Piece[] PIECES = new Piece[COLORS.length * TYPES.length * 64];
+
+    static {
+        for (PieceColor color : COLORS) {
+            for (Type type : TYPES) {
+                for (int square = 0; square < 64; square++) {
+                    PIECES[index(color.ordinal(), type.ordinal()) * 64 + square] =
+                            type.newPiece(Position.ofSquare(square), color);
+                }
+            }
+        }
+    }
+
+    final long[] bitboards = new long[COLORS.length * TYPES.length];
+    final long[] occupancy = new long[COLORS.length];
+    private long hash;
 
     public Board(Collection<Piece> pieces) {
-        whitePieces.putAll(pieces.stream().filter(piece -> piece.getPieceColor() == PieceColor.WHITE)
-                .collect(Collectors.toMap(Piece::getPosition, Function.identity())));
-        blackPieces.putAll(pieces.stream().filter(piece -> piece.getPieceColor() == PieceColor.BLACK)
-                .collect(Collectors.toMap(Piece::getPosition, Function.identity())));
+        pieces.forEach(this::put);
+    }
+
+    public static Board of(long[] pieceBitboards) {
+        if (pieceBitboards.length != COLORS.length * TYPES.length) {
+            throw new IllegalArgumentException("Expected " + COLORS.length * TYPES.length + " bitboards");
+        }
+        Board board = new Board();
+        for (int color = 0; color < COLORS.length; color++) {
+            for (int type = 0; type < TYPES.length; type++) {
+                for (long bits = pieceBitboards[index(color, type)]; bits != 0; bits &= bits - 1) {
+                    int square = Bitboards.first(bits);
+                    if (Bitboards.contains(board.occupancy(), square)) {
+                        throw new IllegalArgumentException("Square occupied twice: " + Position.ofSquare(square));
+                    }
+                    board.set(color, type, square);
+                }
+            }
+        }
+        return board;
     }
 
     public static Board startBoard() {
@@ -54,127 +85,263 @@ public class Board implements Cloneable{
         return board;
     }
 
+    private static int index(int color, int type) {
+        return color * TYPES.length + type;
+    }
+
     void put(Piece piece) {
-        switch (piece.getPieceColor()) {
-            case WHITE -> whitePieces.put(piece.getPosition(), piece);
-            case BLACK -> blackPieces.put(piece.getPosition(), piece);
-        }
+        int square = piece.getPosition().getSquare();
+        remove(square);
+        set(piece.getPieceColor().ordinal(), piece.getPieceType().ordinal(), square);
     }
 
-    public Optional<Piece> at(Position position) {
-        return whitePieces.containsKey(position)
-                ? Optional.of(whitePieces.get(position))
-                : Optional.ofNullable(blackPieces.get(position));
+    private void set(int color, int type, int square) {
+        long bit = Bitboards.bit(square);
+        bitboards[index(color, type)] |= bit;
+        occupancy[color] |= bit;
+        hash ^= Zobrist.piece(index(color, type), square);
     }
 
-    public Board applyMoveNoValidate(PieceMove pieceMove) {
-        Board cloned = this.clone();
-        if (isCastling(pieceMove)) {
-            cloned.applyCastling(pieceMove);
-        } else if (isEnPassant(pieceMove)) {
-            cloned.applyEnPassant(pieceMove);
-        } else {
-            cloned.applyStandardMove(pieceMove);
+    private void remove(int square) {
+        long bit = Bitboards.bit(square);
+        for (int color = 0; color < COLORS.length; color++) {
+            if ((occupancy[color] & bit) != 0) {
+                int piece = index(color, typeIndexAt(color, square));
+                occupancy[color] ^= bit;
+                bitboards[piece] ^= bit;
+                hash ^= Zobrist.piece(piece, square);
+            }
         }
+    }
 
-        if (pieceMove.getPromotion() != null) {
-            cloned.applyPromotion(pieceMove);
+    private int colorIndexAt(int square) {
+        long bit = Bitboards.bit(square);
+        if ((occupancy[PieceColor.WHITE.ordinal()] & bit) != 0) {
+            return PieceColor.WHITE.ordinal();
         }
-
-        return cloned;
+        return (occupancy[PieceColor.BLACK.ordinal()] & bit) != 0 ? PieceColor.BLACK.ordinal() : -1;
     }
 
-    private void applyPromotion(PieceMove pieceMove) {
-        PieceColor pieceColor = at(pieceMove.getTo()).orElseThrow().getPieceColor();
-        pieceMap(pieceColor).put(pieceMove.getTo(),
-                pieceMove.getPromotion().newPiece(pieceMove.getTo(), pieceColor));
+    private int typeIndexAt(int color, int square) {
+        long bit = Bitboards.bit(square);
+        for (int type = 0; type < TYPES.length; type++) {
+            if ((bitboards[index(color, type)] & bit) != 0) {
+                return type;
+            }
+        }
+        return -1;
     }
 
-    private void applyStandardMove(PieceMove pieceMove) {
-        Position from = pieceMove.getFrom();
-        Position to = pieceMove.getTo();
-        PieceColor color = at(from).orElseThrow().getPieceColor();
+    private Piece pieceAt(int color, int square) {
+        int type = typeIndexAt(color, square);
+        return type < 0 ? null : PIECES[index(color, type) * 64 + square];
+    }
 
-        Map<Position, Piece> playerPieces = pieceMap(color);
-        Map<Position, Piece> opponentPieces = pieceMap(color.negate());
+    public Piece pieceAt(int square) {
+        int color = colorIndexAt(square);
+        return color < 0 ? null : pieceAt(color, square);
+    }
 
-        opponentPieces.remove(to);
-        moveTo(playerPieces, from, to);
+    public Optional<Piece> at(Position position) {
+        return Optional.ofNullable(pieceAt(position.getSquare()));
     }
 
-    private void applyEnPassant(PieceMove pieceMove) {
-        PieceColor pieceColor = at(pieceMove.getFrom()).orElseThrow().getPieceColor();
+    public long bitboard(PieceColor side, Type type) {
+        return bitboards[index(side.ordinal(), type.ordinal())];
+    }
 
-        UnaryOperator<Position> moveBackward = Pawn.MOVE_BACKWARD.get(pieceColor);
-        Position near = moveBackward.apply(pieceMove.getTo());
+    public long occupancy(PieceColor side) {
+        return occupancy[side.ordinal()];
+    }
 
-        moveTo(pieceMap(pieceColor), pieceMove.getFrom(), pieceMove.getTo());
-        pieceMap(pieceColor.negate()).remove(near);
+    public long occupancy() {
+        return occupancy[0] | occupancy[1];
     }
 
-    private boolean isEnPassant(PieceMove pieceMove) {
-        return at(pieceMove.getFrom()).orElseThrow().getPieceType() == Type.PAWN
-                && pieceMove.getFrom().getX() != pieceMove.getTo().getX()
-                && at(pieceMove.getTo()).isEmpty();
+    public Board applyMoveNoValidate(PieceMove pieceMove) {
+        return applyMove(Move.of(this, pieceMove));
     }
 
-    private void applyCastling(PieceMove pieceMove) {
-        var from = pieceMove.getFrom();
-        var to = pieceMove.getTo();
-        Position rockFrom;
-        Position rockTo;
+    public Board applyMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int color = colorIndexAt(from);
+        if (color < 0) {
+            throw new NoSuchElementException("No piece at position " + Position.ofSquare(from));
+        }
+        int type = typeIndexAt(color, from);
 
-        if (to.getX() < from.getX()) {
-            rockFrom = to.leftPosition().leftPosition();
-            rockTo = to.rightPosition();
+        Board cloned = this.clone();
+        if (Move.isCastling(move)) {
+            cloned.applyCastling(color, from, to);
+        } else if (Move.isEnPassant(move)) {
+            cloned.applyEnPassant(color, from, to);
         } else {
-            rockFrom = to.rightPosition();
-            rockTo = to.leftPosition();
+            cloned.applyStandardMove(color, type, from, to);
         }
 
-        PieceColor color = at(from).orElseThrow().getPieceColor();
-        Map<Position, Piece> playersPieces = pieceMap(color);
+        if (Move.isPromotion(move)) {
+            cloned.applyPromotion(color, Move.promotion(move).ordinal(), to);
+        }
 
-        moveTo(playersPieces, from, to);
-        moveTo(playersPieces, rockFrom, rockTo);
+        return cloned;
     }
 
-    private void moveTo(Map<Position, Piece> playersPieces, Position from, Position to) {
-        playersPieces.put(to, playersPieces.get(from).moveTo(to));
-        playersPieces.remove(from);
+    private void applyPromotion(int color, int promotion, int to) {
+        long bit = Bitboards.bit(to);
+        int promoted = index(color, typeIndexAt(color, to));
+        bitboards[promoted] ^= bit;
+        bitboards[index(color, promotion)] |= bit;
+        hash ^= Zobrist.piece(promoted, to) ^ Zobrist.piece(index(color, promotion), to);
     }
 
-    public Map<Position, Piece> pieceMap(PieceColor side) {
-        return side == PieceColor.WHITE ? whitePieces : blackPieces;
+    private void applyStandardMove(int color, int type, int from, int to) {
+        remove(to);
+        moveTo(color, type, from, to);
     }
 
-    private boolean isCastling(PieceMove pieceMove) {
-        return at(pieceMove.getFrom()).orElseThrow().getPieceType() == Type.KING
-                && Math.abs(pieceMove.getFrom().getX() - pieceMove.getTo().getX()) > 1;
+    private void applyEnPassant(int color, int from, int to) {
+        int near = Bitboards.square(Bitboards.file(to), Bitboards.rank(from));
+
+        moveTo(color, Type.PAWN.ordinal(), from, to);
+        remove(near);
+    }
+
+    private void applyCastling(int color, int from, int to) {
+        int rockFrom;
+        int rockTo;
+
+        if (to < from) {
+            rockFrom = to - 2;
+            rockTo = to + 1;
+        } else {
+            rockFrom = to + 1;
+            rockTo = to - 1;
+        }
+
+        moveTo(color, Type.KING.ordinal(), from, to);
+        moveTo(color, Type.ROCK.ordinal(), rockFrom, rockTo);
+    }
+
+    private void moveTo(int color, int type, int from, int to) {
+        long fromTo = Bitboards.bit(from) | Bitboards.bit(to);
+        bitboards[index(color, type)] ^= fromTo;
+        occupancy[color] ^= fromTo;
+        hash ^= Zobrist.piece(index(color, type), from) ^ Zobrist.piece(index(color, type), to);
+    }
+
+    public Map<Position, Piece> pieceMap(PieceColor side) {
+        return new PieceMap(side.ordinal());
     }
 
     @Override
     protected Board clone() {
         Board cloned = new Board();
-        cloned.whitePieces.putAll(whitePieces);
-        cloned.blackPieces.putAll(blackPieces);
+        System.arraycopy(bitboards, 0, cloned.bitboards, 0, bitboards.length);
+        System.arraycopy(occupancy, 0, cloned.occupancy, 0, occupancy.length);
+        cloned.hash = hash;
         return cloned;
     }
 
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Board board)) {
+            return false;
+        }
+        return hash == board.hash && Arrays.equals(bitboards, board.bitboards);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
     public Collection<Piece> pieces() {
-        return Stream.of(whitePieces.values(), blackPieces.values())
-                .flatMap(Collection::stream).collect(Collectors.toList());
+        List<Piece> pieces = new ArrayList<>(Long.bitCount(occupancy()));
+        collectPieces(PieceColor.WHITE.ordinal(), pieces);
+        collectPieces(PieceColor.BLACK.ordinal(), pieces);
+        return pieces;
     }
 
     public Collection<Piece> pieces(PieceColor side) {
-        return side == PieceColor.WHITE ? whitePieces.values() : blackPieces.values();
+        List<Piece> pieces = new ArrayList<>(Long.bitCount(occupancy[side.ordinal()]));
+        collectPieces(side.ordinal(), pieces);
+        return pieces;
+    }
+
+    private void collectPieces(int color, List<Piece> pieces) {
+        for (long bits = occupancy[color]; bits != 0; bits &= bits - 1) {
+            pieces.add(pieceAt(color, Bitboards.first(bits)));
+        }
     }
 
     public Position king(PieceColor side) {
-        return pieces(side).stream()
-                .filter(p -> p.getPieceType() == Type.KING)
-                .findAny()
-                .map(Piece::getPosition)
-                .orElseThrow();
+        long king = bitboard(side, Type.KING);
+        if (king == 0) {
+            throw new NoSuchElementException("No king for " + side);
+        }
+        return Position.ofSquare(Bitboards.first(king));
+    }
+
+    private class PieceMap extends AbstractMap<Position, Piece> {
+        private final int color;
+
+        PieceMap(int color) {
+            this.color = color;
+        }
+
+        @Override
+        public Piece get(Object key) {
+            return key instanceof Position position ? pieceAt(color, position.getSquare()) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return Long.bitCount(occupancy[color]);
+        }
+
+        @Override
+        public Set<Entry<Position, Piece>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Position, Piece>> iterator() {
+                    return new Iterator<>() {
+                        private long bits = occupancy[color];
+
+                        @Override
+                        public boolean hasNext() {
+                            return bits != 0;
+                        }
+
+                        @Override
+                        public Entry<Position, Piece> next() {
+                            if (bits == 0) {
+                                throw new NoSuchElementException();
+                            }
+                            Piece piece = pieceAt(color, Bitboards.first(bits));
+                            bits &= bits - 1;
+                            return new SimpleImmutableEntry<>(piece.getPosition(), piece);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return PieceMap.this.size();
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.example.chess.engine.models;
+
+import com.example.chess.engine.bitboard.Bitboards;
+
+import java.util.List;
+
+public final class CastlingRights {
+    public static final int NONE = 0;
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int ALL = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+
+    private static final int[] KEPT_AFTER_MOVE = new int[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KEPT_AFTER_MOVE[square] = ALL;
+        }
+        KEPT_AFTER_MOVE[kingSquare(PieceColor.WHITE)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        KEPT_AFTER_MOVE[kingSquare(PieceColor.BLACK)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        KEPT_AFTER_MOVE[kingSideRock(PieceColor.WHITE)] &= ~WHITE_KING_SIDE;
+        KEPT_AFTER_MOVE[queenSideRock(PieceColor.WHITE)] &= ~WHITE_QUEEN_SIDE;
+        KEPT_AFTER_MOVE[kingSideRock(PieceColor.BLACK)] &= ~BLACK_KING_SIDE;
+        KEPT_AFTER_MOVE[queenSideRock(PieceColor.BLACK)] &= ~BLACK_QUEEN_SIDE;
+    }
+
+    private CastlingRights() {
+    }
+
+    public static int kingSide(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+    }
+
+    public static int queenSide(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+    }
+
+    public static int kingSquare(PieceColor color) {
+        return Bitboards.square(4, color == PieceColor.WHITE ? 0 : 7);
+    }
+
+    public static int kingSideRock(PieceColor color) {
+        return kingSquare(color) + 3;
+    }
+
+    public static int queenSideRock(PieceColor color) {
+        return kingSquare(color) - 4;
+    }
+
+    public static int afterMove(int rights, int from, int to) {
+        return rights & KEPT_AFTER_MOVE[from] & KEPT_AFTER_MOVE[to];
+    }
+
+    public static int of(Board board, List<PieceMove> history) {
+        int rights = NONE;
+        for (PieceColor color : PieceColor.values()) {
+            if (!Bitboards.contains(board.bitboard(color, Type.KING), kingSquare(color))) {
+                continue;
+            }
+            long rocks = board.bitboard(color, Type.ROCK);
+            if (Bitboards.contains(rocks, kingSideRock(color))) {
+                rights |= kingSide(color);
+            }
+            if (Bitboards.contains(rocks, queenSideRock(color))) {
+                rights |= queenSide(color);
+            }
+        }
+
+        for (PieceMove move : history) {
+            rights = afterMove(rights, move.getFrom().getSquare(), move.getTo().getSquare());
+        }
+        return rights;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.chess.engine.models;
+
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.piece.Piece;
+
+import java.util.NoSuchElementException;
+
+public final class Move {
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+
+    private static final Type[] PROMOTIONS = {Type.KNIGHT, Type.BISHOP, Type.ROCK, Type.QUEEN};
+    private static final String PROMOTION_NAMES = "NBRQ";
+
+    private Move() {
+    }
+
+    public static int of(int from, int to, int flags) {
+        return flags << 12 | from << 6 | to;
+    }
+
+    public static int promotion(int from, int to, Type promotion, boolean capture) {
+        return of(from, to, PROMOTION | (capture ? CAPTURE : 0) | promotionIndex(promotion));
+    }
+
+    public static int of(Board board, PieceMove pieceMove) {
+        int from = pieceMove.getFrom().getSquare();
+        int to = pieceMove.getTo().getSquare();
+        Piece piece = board.pieceAt(from);
+        if (piece == null) {
+            throw new NoSuchElementException("No piece at position " + pieceMove.getFrom());
+        }
+        boolean capture = Bitboards.contains(board.occupancy(piece.getPieceColor().negate()), to);
+
+        if (pieceMove.getPromotion() != null) {
+            return promotion(from, to, pieceMove.getPromotion(), capture);
+        }
+        if (piece.getPieceType() == Type.KING && Math.abs(Bitboards.file(from) - Bitboards.file(to)) > 1) {
+            return of(from, to, to > from ? KING_CASTLE : QUEEN_CASTLE);
+        }
+        if (piece.getPieceType() == Type.PAWN) {
+            if (Bitboards.file(from) != Bitboards.file(to) && !Bitboards.contains(board.occupancy(), to)) {
+                return of(from, to, EN_PASSANT);
+            }
+            if (Math.abs(to - from) == 16) {
+                return of(from, to, DOUBLE_PUSH);
+            }
+        }
+        return of(from, to, capture ? CAPTURE : QUIET);
+    }
+
+    public static int from(int move) {
+        return move >>> 6 & 0x3F;
+    }
+
+    public static int to(int move) {
+        return move & 0x3F;
+    }
+
+    public static int flags(int move) {
+        return move >>> 12 & 0xF;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return flags(move) == EN_PASSANT;
+    }
+
+    public static boolean isCastling(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    public static Type promotion(int move) {
+        return isPromotion(move) ? PROMOTIONS[flags(move) & 3] : null;
+    }
+
+    public static boolean isPromotable(Type type) {
+        return type == Type.KNIGHT || type == Type.BISHOP || type == Type.ROCK || type == Type.QUEEN;
+    }
+
+    public static PieceMove toPieceMove(int move) {
+        return new PieceMove(Position.ofSquare(from(move)), Position.ofSquare(to(move)), promotion(move));
+    }
+
+    public static String toString(int move) {
+        String squares = Position.ofSquare(from(move)).toString() + Position.ofSquare(to(move));
+        return isPromotion(move) ? squares + PROMOTION_NAMES.charAt(flags(move) & 3) : squares;
+    }
+
+    private static int promotionIndex(Type promotion) {
+        for (int i = 0; i < PROMOTIONS.length; i++) {
+            if (PROMOTIONS[i] == promotion) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Cannot promote to " + promotion);
+    }
+}
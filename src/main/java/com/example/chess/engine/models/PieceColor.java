@@ -18,6 +18,10 @@ public enum PieceColor {
         }
     }
 
+    public static PieceColor of(ColorDto colorDto) {
+        return colorDto == ColorDto.WHITE ? WHITE : BLACK;
+    }
+
     public ColorDto toDto() {
         return this == WHITE ? ColorDto.WHITE : ColorDto.BLACK;
     }
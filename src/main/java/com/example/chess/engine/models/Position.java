@@ -1,125 +1,140 @@
 package com.example.chess.engine.models;
 
-import com.example.chess.engine.ChessGame;
-import com.example.chess.engine.models.piece.Piece;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.*;
-import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 @Getter
 @EqualsAndHashCode
 public class Position {
+    private static final int UP = 0;
+    private static final int DOWN = 1;
+    private static final int LEFT = 2;
+    private static final int RIGHT = 3;
+    private static final int DIAG_UP_LEFT = 4;
+    private static final int DIAG_UP_RIGHT = 5;
+    private static final int DIAG_DOWN_LEFT = 6;
+    private static final int DIAG_DOWN_RIGHT = 7;
+    private static final int[][] DIRECTIONS = {{0, 1}, {0, -1}, {-1, 0}, {1, 0}, {-1, 1}, {1, 1}, {-1, -1}, {1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {-1, 2}, {1, -2}, {-1, -2}, {-2, 1}, {-2, -1}, {2, 1}, {2, -1}};
+
+    private static final Position[] POSITIONS = new Position[64];
+    private static final Position[][] NEIGHBOURS = new Position[DIRECTIONS.length][64];
+    private static final Position[][][] RAYS = new Position[DIRECTIONS.length][64][];
+    private static final List<List<Position>> KING_STEPS = new ArrayList<>(64);
+    private static final List<List<Position>> KNIGHT_STEPS = new ArrayList<>(64);
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            POSITIONS[square] = new Position((square & 7) + 1, (square >>> 3) + 1);
+        }
+
+        for (Position position : POSITIONS) {
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                List<Position> ray = new ArrayList<>();
+                for (Position next = position.shift(DIRECTIONS[direction]); next != null; next = next.shift(DIRECTIONS[direction])) {
+                    ray.add(next);
+                }
+                RAYS[direction][position.square] = ray.toArray(new Position[0]);
+                NEIGHBOURS[direction][position.square] = ray.isEmpty() ? null : ray.get(0);
+            }
+            KING_STEPS.add(steps(position, DIRECTIONS));
+            KNIGHT_STEPS.add(steps(position, KNIGHT_JUMPS));
+        }
+    }
+
     private final int x;
     private final int y;
+    private final int square;
+    @Getter(lombok.AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private final String name;
 
-    public Position(int x, int y) {
-        if (x < 1 || x > 8 || y < 1 || y > 8) {
-            throw new IllegalArgumentException("Invalid position: " + x + ", " + y);
-        }
+    private Position(int x, int y) {
         this.x = x;
         this.y = y;
+        this.square = (y - 1) * 8 + (x - 1);
+        this.name = String.valueOf((char) ('A' + x - 1)) + y;
     }
 
     public static Position of(int x, int y) {
-        return new Position(x, y);
+        if (x < 1 || x > 8 || y < 1 || y > 8) {
+            throw new IllegalArgumentException("Invalid position: " + x + ", " + y);
+        }
+        return POSITIONS[(y - 1) * 8 + (x - 1)];
+    }
+
+    public static Position ofSquare(int square) {
+        return POSITIONS[square];
     }
 
     public static Position of(String s) {
-        if (!s.matches("(?i)[A-H][1-8]")) {
+        if (s == null || s.length() != 2) {
+            throw new IllegalArgumentException("Position invalid: " + s);
+        }
+
+        int x = (s.charAt(0) | 0x20) - 'a' + 1;
+        int y = s.charAt(1) - '0';
+        if (x < 1 || x > 8 || y < 1 || y > 8) {
             throw new IllegalArgumentException("Position invalid: " + s);
         }
+        return POSITIONS[(y - 1) * 8 + (x - 1)];
+    }
 
-        int x = switch (s.toLowerCase().charAt(0)) {
-            case 'a' -> 1;
-            case 'b' -> 2;
-            case 'c' -> 3;
-            case 'd' -> 4;
-            case 'e' -> 5;
-            case 'f' -> 6;
-            case 'g' -> 7;
-            case 'h' -> 8;
-            default -> throw new IllegalStateException("Unexpected value: " + s.toLowerCase().charAt(0));
-        };
+    private Position shift(int[] delta) {
+        int nx = x + delta[0];
+        int ny = y + delta[1];
+        return (nx < 1 || nx > 8 || ny < 1 || ny > 8) ? null : POSITIONS[(ny - 1) * 8 + (nx - 1)];
+    }
 
-        int y = Integer.parseInt(s.substring(1));
-        return new Position(x, y);
+    private static List<Position> steps(Position position, int[][] deltas) {
+        List<Position> steps = new ArrayList<>();
+        for (int[] delta : deltas) {
+            Optional.ofNullable(position.shift(delta)).ifPresent(steps::add);
+        }
+        return Collections.unmodifiableList(steps);
     }
 
     public Position upPosition() {
-        return (y < 8) ? of(x, y + 1) : null;
+        return NEIGHBOURS[UP][square];
     }
 
     public Position downPosition() {
-        return (y > 1) ? of(x, y - 1) : null;
+        return NEIGHBOURS[DOWN][square];
     }
 
     public Position rightPosition() {
-        return (x < 8) ? of(x + 1, y) : null;
+        return NEIGHBOURS[RIGHT][square];
     }
 
     public Position leftPosition() {
-        return (x > 1) ? of(x - 1, y) : null;
+        return NEIGHBOURS[LEFT][square];
     }
 
     public Position diagDownLeftPosition() {
-        return move(Position::downPosition, Position::leftPosition);
+        return NEIGHBOURS[DIAG_DOWN_LEFT][square];
     }
 
     public Position diagDownRightPosition() {
-        return move(Position::downPosition, Position::rightPosition);
+        return NEIGHBOURS[DIAG_DOWN_RIGHT][square];
     }
 
     public Position diagUpLeftPosition() {
-        return move(Position::upPosition, Position::leftPosition);
+        return NEIGHBOURS[DIAG_UP_LEFT][square];
     }
 
     public Position diagUpRightPosition() {
-        return move(Position::upPosition, Position::rightPosition);
-    }
-
-    @SafeVarargs
-    private Position move(UnaryOperator<Position>... moves) {
-        Position finalPosition = this;
-        for (int i = 0; i < moves.length && (finalPosition != null); i++) {
-            UnaryOperator<Position> move = moves[i];
-            finalPosition = move.apply(finalPosition);
-        }
-        return finalPosition;
+        return NEIGHBOURS[DIAG_UP_RIGHT][square];
     }
 
     public List<Position> king() {
-        List<Position> moves = new ArrayList<>();
-        moves.add(upPosition());
-        moves.add(downPosition());
-        moves.add(leftPosition());
-        moves.add(rightPosition());
-        moves.add(diagDownLeftPosition());
-        moves.add(diagDownRightPosition());
-        moves.add(diagUpLeftPosition());
-        moves.add(diagUpRightPosition());
-
-        moves.removeIf(Objects::isNull);
-
-        return moves;
+        return KING_STEPS.get(square);
     }
 
     public List<Position> knight() {
-        List<Position> moves = new ArrayList<>();
-        moves.add(move(Position::upPosition, Position::upPosition, Position::rightPosition));
-        moves.add(move(Position::upPosition, Position::upPosition, Position::leftPosition));
-        moves.add(move(Position::downPosition, Position::downPosition, Position::rightPosition));
-        moves.add(move(Position::downPosition, Position::downPosition, Position::leftPosition));
-        moves.add(move(Position::leftPosition, Position::leftPosition, Position::upPosition));
-        moves.add(move(Position::leftPosition, Position::leftPosition, Position::downPosition));
-        moves.add(move(Position::rightPosition, Position::rightPosition, Position::upPosition));
-        moves.add(move(Position::rightPosition, Position::rightPosition, Position::downPosition));
-
-        moves.removeIf(Objects::isNull);
-
-        return moves;
+        return KNIGHT_STEPS.get(square);
     }
 
     public List<Stream<Position>> bishop() {
@@ -139,67 +154,43 @@ public class Position {
     }
 
     public Stream<Position> up() {
-        return Stream.iterate(this, Objects::nonNull, Position::upPosition).skip(1);
+        return ray(UP);
     }
 
     private Stream<Position> right() {
-        return Stream.iterate(this, Objects::nonNull, Position::rightPosition).skip(1);
+        return ray(RIGHT);
     }
 
     private Stream<Position> left() {
-        return Stream.iterate(this, Objects::nonNull, Position::leftPosition).skip(1);
+        return ray(LEFT);
     }
 
     private Stream<Position> down() {
-        return Stream.iterate(this, Objects::nonNull, Position::downPosition).skip(1);
+        return ray(DOWN);
     }
 
     private Stream<Position> diagUpRight() {
-        return Stream.iterate(this, Objects::nonNull, Position::diagUpRightPosition).skip(1);
+        return ray(DIAG_UP_RIGHT);
     }
 
     private Stream<Position> diagUpLeft() {
-        return Stream.iterate(this, Objects::nonNull, Position::diagUpLeftPosition).skip(1);
+        return ray(DIAG_UP_LEFT);
     }
 
     private Stream<Position> diagDownRight() {
-        return Stream.iterate(this, Objects::nonNull, Position::diagDownRightPosition).skip(1);
+        return ray(DIAG_DOWN_RIGHT);
     }
 
     private Stream<Position> diagDownLeft() {
-        return Stream.iterate(this, Objects::nonNull, Position::diagDownLeftPosition).skip(1);
+        return ray(DIAG_DOWN_LEFT);
     }
 
-    public Set<Position> moveUntilHit(List<Stream<Position>> moveLines, ChessGame game, PieceColor pieceColor) {
-        Set<Position> validMoves = new HashSet<>();
-        moveLines.forEach(moveLine -> {
-            for (Position to : (Iterable<Position>) moveLine::iterator) {
-                Optional<Piece> pieceAtPosition = game.at(to);
-
-                if (pieceAtPosition.isEmpty() || pieceAtPosition.get().getPieceColor() != pieceColor) {
-                    validMoves.add(to);
-                }
-                if (pieceAtPosition.isPresent()) {
-                    break;
-                }
-            }
-        });
-
-        return validMoves;
+    private Stream<Position> ray(int direction) {
+        return Arrays.stream(RAYS[direction][square]);
     }
 
     @Override
     public String toString() {
-        return switch (x) {
-            case 1 -> "A" + y;
-            case 2 -> "B" + y;
-            case 3 -> "C" + y;
-            case 4 -> "D" + y;
-            case 5 -> "E" + y;
-            case 6 -> "F" + y;
-            case 7 -> "G" + y;
-            case 8 -> "H" + y;
-            default -> throw new IllegalStateException("Unexpected value: " + x);
-        };
+        return name;
     }
 }
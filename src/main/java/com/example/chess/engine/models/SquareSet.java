@@ -0,0 +1,81 @@
+package com.example.chess.engine.models;
+
+import com.example.chess.engine.bitboard.Bitboards;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class SquareSet extends AbstractSet<Position> {
+    private long squares;
+
+    public SquareSet(long squares) {
+        this.squares = squares;
+    }
+
+    public static SquareSet of(long squares) {
+        return new SquareSet(squares);
+    }
+
+    public long bitboard() {
+        return squares;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Position position && Bitboards.contains(squares, position.getSquare());
+    }
+
+    @Override
+    public boolean add(Position position) {
+        long before = squares;
+        squares |= Bitboards.bit(position.getSquare());
+        return squares != before;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        squares ^= Bitboards.bit(((Position) o).getSquare());
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(squares);
+    }
+
+    @Override
+    public Iterator<Position> iterator() {
+        return new Iterator<>() {
+            private long remaining = squares;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Position next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                last = Bitboards.first(remaining);
+                remaining &= remaining - 1;
+                return Position.ofSquare(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                squares &= ~Bitboards.bit(last);
+                last = -1;
+            }
+        };
+    }
+}
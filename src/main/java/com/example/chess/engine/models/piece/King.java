@@ -1,6 +1,7 @@
 package com.example.chess.engine.models.piece;
 
 import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.CastlingRights;
 import com.example.chess.engine.models.PieceColor;
 import com.example.chess.engine.models.Position;
 import com.example.chess.engine.models.Type;
@@ -39,7 +40,7 @@ public class King extends Piece{
     }
 
     private Stream<Position> castling(ChessGame game) {
-        if (position.equals(START_POSITION.get(pieceColor)) && neverMoved(position, game)) {
+        if (position.equals(START_POSITION.get(pieceColor)) && game.getCastlingRights() != CastlingRights.NONE) {
             return Stream.of(castlingLeft(game), castlingRight(game))
                     .filter(Optional::isPresent)
                     .map(Optional::get);
@@ -51,11 +52,10 @@ public class King extends Piece{
     private Optional<Position> castlingRight(ChessGame game) {
         Position r1 = position.rightPosition();
         Position r2 = r1.rightPosition();
-        Position rock = r2.rightPosition();
 
         if (game.empty(r1)
             && game.empty(r2)
-            && neverMoved(rock, game)
+            && canCastle(game, CastlingRights.kingSide(pieceColor))
             && !game.isUnderAttack(r1)
             && !game.isUnderAttack(r2)) {
             return Optional.of(r2);
@@ -68,12 +68,11 @@ public class King extends Piece{
         Position l1 = position.leftPosition();
         Position l2 = l1.leftPosition();
         Position l3 = l2.leftPosition();
-        Position rock = l3.leftPosition();
 
         if (game.empty(l1)
             && game.empty(l2)
             && game.empty(l3)
-            && neverMoved(rock, game)
+            && canCastle(game, CastlingRights.queenSide(pieceColor))
             && !game.isUnderAttack(l1)
             && !game.isUnderAttack(l2)) {
             return Optional.of(l2);
@@ -82,8 +81,7 @@ public class King extends Piece{
         return Optional.empty();
     }
 
-    private boolean neverMoved(Position position, ChessGame game) {
-        return game.getPreviousMoves().stream()
-                .noneMatch(m -> m.getFrom().equals(position));
+    private boolean canCastle(ChessGame game, int side) {
+        return (game.getCastlingRights() & side) != 0;
     }
 }
@@ -1,8 +1,9 @@
 package com.example.chess.engine.models.piece;
 
 import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.bitboard.Bitboards;
 import com.example.chess.engine.models.PieceColor;
-import com.example.chess.engine.models.PieceMove;
 import com.example.chess.engine.models.Position;
 import com.example.chess.engine.models.Type;
 
@@ -15,11 +16,6 @@ public class Pawn extends Piece{
             PieceColor.BLACK, 7
     );
 
-    final static Map<PieceColor, Integer> ENPASSANT_LINE = Map.of(
-            PieceColor.WHITE, 5,
-            PieceColor.BLACK, 4
-    );
-
     public final static Map<PieceColor, UnaryOperator<Position>> MOVE_FORWARD = Map.of(
             PieceColor.WHITE, Position::upPosition,
             PieceColor.BLACK, Position::downPosition
@@ -75,30 +71,12 @@ public class Pawn extends Piece{
     }
 
     private Optional<Position> enPassant(ChessGame game) {
-        if (!ENPASSANT_LINE.get(pieceColor).equals(position.getY())
-            || game.getPreviousMoves().isEmpty()) {
+        int target = game.getEnPassantSquare();
+        if (game.getCurrentPlayer() != pieceColor || target < 0
+            || !Bitboards.contains(Attacks.pawn(pieceColor, position.getSquare()), target)) {
             return Optional.empty();
         }
-
-        UnaryOperator<Position> moveForward = MOVE_FORWARD.get(pieceColor);
-        UnaryOperator<Position> moveBackward = MOVE_BACKWARD.get(pieceColor);
-        Position fl = moveForward.apply(position).leftPosition();
-        Position fr = moveForward.apply(position).rightPosition();
-
-        for (Position forwardAttack : new Position[] {fl, fr}) {
-            if (forwardAttack != null) {
-                Position near = moveBackward.apply(forwardAttack);
-                Position nearFrom = moveForward.apply(forwardAttack);
-
-                PieceMove lastOppMove = game.getPreviousMoves().get(game.getPreviousMoves().size() - 1);
-                if (game.at(near).map(p -> p.getPieceType() == Type.PAWN && p.pieceColor != pieceColor).orElse(false)
-                    && lastOppMove.getFrom().equals(nearFrom)
-                    && lastOppMove.getTo().equals(near)) {
-                    return Optional.of(forwardAttack);
-                }
-            }
-        }
-        return Optional.empty();
+        return Optional.of(Position.ofSquare(target));
     }
 
     private boolean isAtStartLine() {
@@ -1,9 +1,10 @@
 package com.example.chess.engine.models.piece;
 
 import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.MoveGenerator;
 import com.example.chess.engine.models.PieceColor;
-import com.example.chess.engine.models.PieceMove;
 import com.example.chess.engine.models.Position;
+import com.example.chess.engine.models.SquareSet;
 import com.example.chess.engine.models.Type;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -21,14 +22,6 @@ public abstract class Piece {
     public abstract Set<Position> validPieceMoves(ChessGame game);
 
     public final Set<Position> finallyValidMoves(ChessGame game) {
-        Set<Position> moves = validPieceMoves(game);
-
-        moves.removeIf(pos ->
-                game.at(pos).map(piece -> piece.pieceColor == pieceColor).orElse(false));
-
-        PieceColor currentPlayer = game.getCurrentPlayer();
-        moves.removeIf(m -> game.applyMoveNoValidate(new PieceMove(position, m)).kingUnderAttack(currentPlayer));
-
-        return moves;
+        return SquareSet.of(MoveGenerator.legalTargets(game, position.getSquare()));
     }
 }
@@ -1,8 +1,11 @@
 package com.example.chess.engine.models.piece;
 
 import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.models.Board;
 import com.example.chess.engine.models.PieceColor;
 import com.example.chess.engine.models.Position;
+import com.example.chess.engine.models.SquareSet;
 import com.example.chess.engine.models.Type;
 
 import java.util.Set;
@@ -19,6 +22,7 @@ public class Queen extends Piece{
 
     @Override
     public Set<Position> validPieceMoves(ChessGame game) {
-        return position.moveUntilHit(position.queen(), game, pieceColor);
+        Board board = game.getBoard();
+        return SquareSet.of(Attacks.queen(position.getSquare(), board.occupancy()) & ~board.occupancy(pieceColor));
     }
 }
@@ -0,0 +1,73 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class ParallelSearch implements Searcher {
+    private final TranspositionTable transpositionTable;
+    private final Search[] searches;
+    private final Executor helperExecutor;
+
+    public ParallelSearch(TranspositionTable transpositionTable, int threads, Executor helperExecutor) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.transpositionTable = transpositionTable;
+        this.helperExecutor = helperExecutor;
+        this.searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(transpositionTable);
+        }
+    }
+
+    public int threads() {
+        return searches.length;
+    }
+
+    @Override
+    public void stop() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    @Override
+    public SearchResult search(ChessGame root, SearchLimits limits) {
+        transpositionTable.newSearch();
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<SearchResult>[] helpers = new CompletableFuture[searches.length - 1];
+        for (int i = 1; i < searches.length; i++) {
+            Search helper = searches[i];
+            int firstDepth = 1 + (i & 1);
+            helpers[i - 1] = CompletableFuture.supplyAsync(() -> helper.iterate(root, limits, firstDepth), helperExecutor);
+        }
+
+        SearchResult main;
+        try {
+            main = searches[0].iterate(root, limits, 1);
+        } finally {
+            stop();
+        }
+
+        SearchResult best = main;
+        long nodes = main.getNodes();
+        try {
+            for (CompletableFuture<SearchResult> helper : helpers) {
+                SearchResult result = helper.join();
+                nodes += result.getNodes();
+                if (result.getDepth() > best.getDepth() && result.hasMove()) {
+                    best = result;
+                }
+            }
+        } finally {
+            for (Search search : searches) {
+                search.reset();
+            }
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes, main.getTimeMillis(),
+                best.getPv());
+    }
+}
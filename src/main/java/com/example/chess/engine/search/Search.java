@@ -0,0 +1,310 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import com.example.chess.engine.models.Type;
+
+import java.util.Arrays;
+
+public class Search implements Searcher {
+    public static final int MATE = 32_000;
+    public static final int INFINITY = MATE + 1;
+
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH * 2;
+    private static final int CHECK_INTERVAL = 1023;
+
+    private static final int BEST_MOVE_SCORE = 4_000_000;
+    private static final int CAPTURE_SCORE = 2_000_000;
+    private static final int PROMOTION_SCORE = 1_500_000;
+    private static final int KILLER_SCORE = 1_000_000;
+    private static final int HISTORY_MAX = 500_000;
+
+    private final MoveList[] moves = new MoveList[MAX_PLY + 1];
+    private final int[][] scores = new int[MAX_PLY + 1][MoveList.CAPACITY];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[2][64 * 64];
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private final TranspositionTable transpositionTable;
+
+    private volatile boolean stopped;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private int rootBestMove;
+    private int previousBestMove;
+
+    public Search() {
+        this(null);
+    }
+
+    public Search(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+        for (int ply = 0; ply < moves.length; ply++) {
+            moves[ply] = new MoveList();
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public SearchResult search(ChessGame root, SearchLimits limits) {
+        if (transpositionTable != null) {
+            transpositionTable.newSearch();
+        }
+        try {
+            return iterate(root, limits, 1);
+        } finally {
+            reset();
+        }
+    }
+
+    void reset() {
+        stopped = false;
+    }
+
+    SearchResult iterate(ChessGame root, SearchLimits limits, int firstDepth) {
+        long start = System.nanoTime();
+        nodes = 0;
+        nodeLimit = limits.getNodes();
+        deadline = limits.getTimeMillis() > 0 ? start + limits.getTimeMillis() * 1_000_000 : Long.MAX_VALUE;
+        for (int[] killer : killers) {
+            Arrays.fill(killer, Move.NONE);
+        }
+        for (int[] sideHistory : history) {
+            Arrays.fill(sideHistory, 0);
+        }
+
+        MoveList rootMoves = root.legalMoves(new MoveList());
+        previousBestMove = rootMoves.isEmpty() ? Move.NONE : rootMoves.get(0);
+        SearchResult result = new SearchResult(previousBestMove, 0, 0, 0, 0,
+                rootMoves.isEmpty() ? new int[0] : new int[]{previousBestMove});
+
+        int maxDepth = Math.min(limits.getDepth(), SearchLimits.MAX_DEPTH);
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth && !rootMoves.isEmpty(); depth++) {
+            rootBestMove = Move.NONE;
+            int score = negamax(root, depth, -INFINITY, INFINITY, 0);
+            if (stopped) {
+                break;
+            }
+            previousBestMove = rootBestMove;
+            result = new SearchResult(rootBestMove, score, depth, nodes, elapsedMillis(start),
+                    Arrays.copyOf(pv[0], pvLength[0]));
+            if (Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes, elapsedMillis(start),
+                result.getPv());
+    }
+
+    private int negamax(ChessGame game, int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        if (ply > 0 && (game.getHalfmoveClock() >= 100 || game.repetitions() > 1)) {
+            return 0;
+        }
+        boolean inCheck = game.getAttackMap().inCheck();
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(game, alpha, beta, ply);
+        }
+        if (countNode()) {
+            return 0;
+        }
+
+        int hashMove = Move.NONE;
+        if (transpositionTable != null) {
+            long entry = transpositionTable.probe(game.getHash());
+            if (entry != 0) {
+                hashMove = TranspositionTable.move(entry);
+                int score = TranspositionTable.score(entry, ply);
+                int bound = TranspositionTable.bound(entry);
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth
+                        && (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && score >= beta
+                        || bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveList list = game.legalMoves(moves[ply]);
+        if (list.isEmpty()) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(game, list, ply, ply == 0 ? previousBestMove : hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < list.size(); i++) {
+            int move = pick(list, ply, i);
+            int score = -negamax(game.applyMoveNoValidate(move), depth - 1, -beta, -alpha, ply + 1);
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(move, ply);
+                    if (alpha >= beta) {
+                        if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+                            storeQuietCutoff(game, move, depth, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (transpositionTable != null) {
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            transpositionTable.store(game.getHash(), bound == TranspositionTable.UPPER ? Move.NONE : bestMove,
+                    best, depth, bound, ply);
+        }
+        return best;
+    }
+
+    private int quiescence(ChessGame game, int alpha, int beta, int ply) {
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(game);
+        }
+
+        boolean inCheck = game.getAttackMap().inCheck();
+        int best = -INFINITY;
+        if (!inCheck) {
+            best = Evaluation.evaluate(game);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+
+        MoveList list = game.legalMoves(moves[ply]);
+        if (list.isEmpty()) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(game, list, ply, Move.NONE);
+
+        for (int i = 0; i < list.size(); i++) {
+            int move = pick(list, ply, i);
+            if (!inCheck && !Move.isCapture(move) && !Move.isPromotion(move)) {
+                break;
+            }
+            int score = -quiescence(game.applyMoveNoValidate(move), -beta, -alpha, ply + 1);
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private void scoreMoves(ChessGame game, MoveList list, int ply, int bestMove) {
+        Board board = game.getBoard();
+        int[] sideHistory = history[game.getCurrentPlayer().ordinal()];
+        int[] moveScores = scores[ply];
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            int score;
+            if (move == bestMove) {
+                score = BEST_MOVE_SCORE;
+            } else if (Move.isCapture(move)) {
+                Type victim = Move.isEnPassant(move) ? Type.PAWN : board.pieceAt(Move.to(move)).getPieceType();
+                Type attacker = board.pieceAt(Move.from(move)).getPieceType();
+                score = CAPTURE_SCORE + Evaluation.value(victim) * 16 - Evaluation.value(attacker);
+            } else if (Move.isPromotion(move)) {
+                score = PROMOTION_SCORE + Evaluation.value(Move.promotion(move));
+            } else if (move == killers[ply][0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = sideHistory[Move.from(move) << 6 | Move.to(move)];
+            }
+            moveScores[i] = score;
+        }
+    }
+
+    private int pick(MoveList list, int ply, int index) {
+        int[] moveScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < list.size(); i++) {
+            if (moveScores[i] > moveScores[best]) {
+                best = i;
+            }
+        }
+        int move = list.get(best);
+        if (best != index) {
+            list.set(best, list.get(index));
+            list.set(index, move);
+            int score = moveScores[best];
+            moveScores[best] = moveScores[index];
+            moveScores[index] = score;
+        }
+        return move;
+    }
+
+    private void updatePv(int move, int ply) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    private void storeQuietCutoff(ChessGame game, int move, int depth, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        int[] sideHistory = history[game.getCurrentPlayer().ordinal()];
+        int index = Move.from(move) << 6 | Move.to(move);
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] > HISTORY_MAX) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+
+    private boolean countNode() {
+        nodes++;
+        if (nodeLimit > 0 && nodes >= nodeLimit
+                || (nodes & CHECK_INTERVAL) == 0 && System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
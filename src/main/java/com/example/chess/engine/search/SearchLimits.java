@@ -0,0 +1,23 @@
+package com.example.chess.engine.search;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class SearchLimits {
+    public static final int MAX_DEPTH = 64;
+
+    @Builder.Default
+    int depth = MAX_DEPTH;
+    long timeMillis;
+    long nodes;
+
+    public static SearchLimits depth(int depth) {
+        return builder().depth(depth).build();
+    }
+
+    public static SearchLimits time(long timeMillis) {
+        return builder().timeMillis(timeMillis).build();
+    }
+}
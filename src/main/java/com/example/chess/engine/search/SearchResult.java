@@ -0,0 +1,47 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.models.Move;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Arrays;
+
+@Value
+@AllArgsConstructor
+public class SearchResult {
+    private static final int[] NO_PV = new int[0];
+
+    int bestMove;
+    int score;
+    int depth;
+    long nodes;
+    long timeMillis;
+    int[] pv;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis) {
+        this(bestMove, score, depth, nodes, timeMillis, NO_PV);
+    }
+
+    public boolean hasMove() {
+        return bestMove != Move.NONE;
+    }
+
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - SearchLimits.MAX_DEPTH * 2;
+    }
+
+    public int mateIn() {
+        if (!isMate()) {
+            return 0;
+        }
+        int moves = (Search.MATE - Math.abs(score) + 1) / 2;
+        return score > 0 ? moves : -moves;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{bestMove=" + Move.toString(bestMove) + ", score=" + score + ", depth=" + depth
+                + ", nodes=" + nodes + ", timeMillis=" + timeMillis
+                + ", pv=" + Arrays.stream(pv).mapToObj(Move::toString).toList() + '}';
+    }
+}
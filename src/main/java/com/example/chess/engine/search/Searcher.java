@@ -0,0 +1,9 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+
+public interface Searcher {
+    SearchResult search(ChessGame root, SearchLimits limits);
+
+    void stop();
+}
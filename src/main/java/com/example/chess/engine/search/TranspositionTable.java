@@ -0,0 +1,146 @@
+package com.example.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TranspositionTable {
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final int MATE_BOUND = Search.MATE - SearchLimits.MAX_DEPTH * 2;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public TranspositionTable(int megabytes) {
+        long entries = Math.max(BUCKET_ENTRIES, (long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        int buckets = Integer.highestOneBit((int) Math.min(entries / BUCKET_ENTRIES, 1 << 26));
+        this.table = new long[buckets * BUCKET_ENTRIES * 2];
+        this.bucketMask = buckets - 1;
+    }
+
+    public long probe(long hash) {
+        int index = bucket(hash);
+        for (int i = 0; i < BUCKET_ENTRIES; i++, index += 2) {
+            long data = table[index + 1];
+            if ((table[index] ^ data) == hash && bound(data) != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        misses.increment();
+        return 0;
+    }
+
+    public void store(long hash, int move, int score, int depth, int bound, int ply) {
+        int index = bucket(hash);
+        long first = table[index + 1];
+        boolean sameKey = (table[index] ^ first) == hash;
+        int slot = sameKey || bound(first) == 0 || generation(first) != generation || depth(first) <= depth
+                ? index : index + 2;
+
+        if (slot == index && sameKey && move == 0) {
+            move = move(first);
+        }
+        long data = pack(move, toTable(score, ply), depth, bound, generation);
+        table[slot] = hash ^ data;
+        table[slot + 1] = data;
+        stores.increment();
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        hits.reset();
+        misses.reset();
+        stores.reset();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    public int hashfull() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * 2 + 1];
+            if (bound(data) != 0 && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data, int ply) {
+        int score = (short) (data >>> 16);
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 32 & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 40 & 0x3);
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 42 & 0x3F);
+    }
+
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move & 0xFFFFL)
+                | (score & 0xFFFFL) << 16
+                | (long) Math.min(depth, 0xFF) << 32
+                | (long) bound << 40
+                | (long) generation << 42;
+    }
+
+    private int bucket(long hash) {
+        return (int) (hash & bucketMask) * BUCKET_ENTRIES * 2;
+    }
+}
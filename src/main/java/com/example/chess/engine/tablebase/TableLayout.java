@@ -0,0 +1,151 @@
+package com.example.chess.engine.tablebase;
+
+import com.example.chess.engine.bitboard.Attacks;
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.Type;
+
+final class TableLayout {
+    static final String LETTERS = "KQRBN";
+    static final int TYPES = Type.values().length;
+
+    private static final int TRIANGLE = 10;
+    private static final int[] TRIANGLE_INDEX = new int[64];
+    private static final int[] TRIANGLE_SQUARES = new int[TRIANGLE];
+
+    static {
+        int next = 0;
+        for (int square = 0; square < 64; square++) {
+            int file = Bitboards.file(square);
+            int rank = Bitboards.rank(square);
+            if (file <= 3 && rank <= file) {
+                TRIANGLE_SQUARES[next] = square;
+                TRIANGLE_INDEX[square] = next++;
+            } else {
+                TRIANGLE_INDEX[square] = -1;
+            }
+        }
+    }
+
+    final String name;
+    final int[] pieces;
+    final int size;
+
+    private TableLayout(String name, int[] pieces) {
+        this.name = name;
+        this.pieces = pieces;
+        long size = 2L * TRIANGLE;
+        for (int i = 1; i < pieces.length; i++) {
+            size *= 64;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Table too large: " + name);
+        }
+        this.size = (int) size;
+    }
+
+    static TableLayout of(String name) {
+        int separator = name.indexOf('v');
+        if (separator < 1 || name.charAt(0) != 'K' || name.charAt(separator + 1) != 'K') {
+            throw new IllegalArgumentException("Not a pawnless material signature: " + name);
+        }
+        int[] pieces = new int[name.length() - 1];
+        int next = 0;
+        for (int i = 0; i < name.length(); i++) {
+            if (i == separator) {
+                continue;
+            }
+            int type = LETTERS.indexOf(name.charAt(i));
+            if (type < 0 || i > separator + 1 && name.charAt(i) == 'K' || i > 0 && i < separator && type == 0) {
+                throw new IllegalArgumentException("Not a pawnless material signature: " + name);
+            }
+            pieces[next++] = (i < separator ? 0 : TYPES) + type;
+        }
+        return new TableLayout(name, pieces);
+    }
+
+    int count() {
+        return pieces.length;
+    }
+
+    int index(int[] squares, int sideToMove) {
+        int index = sideToMove * TRIANGLE + TRIANGLE_INDEX[squares[0]];
+        for (int i = 1; i < pieces.length; i++) {
+            index = index * 64 + squares[i];
+        }
+        return index;
+    }
+
+    int decode(int index, int[] squares) {
+        for (int i = pieces.length - 1; i >= 1; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+        squares[0] = TRIANGLE_SQUARES[index % TRIANGLE];
+        return index / TRIANGLE;
+    }
+
+    static void canonicalize(int[] squares, int count) {
+        int king = squares[0];
+        int transform = 0;
+        if (Bitboards.file(king) > 3) {
+            transform |= 1;
+        }
+        if (Bitboards.rank(king) > 3) {
+            transform |= 2;
+        }
+        if (Bitboards.rank(transform(king, transform)) > Bitboards.file(transform(king, transform))) {
+            transform |= 4;
+        }
+        if (transform != 0) {
+            for (int i = 0; i < count; i++) {
+                squares[i] = transform(squares[i], transform);
+            }
+        }
+        if (onDiagonal(squares[0]) && compareTransposed(squares, count) > 0) {
+            for (int i = 0; i < count; i++) {
+                squares[i] = transform(squares[i], 4);
+            }
+        }
+    }
+
+    static boolean isCanonical(int[] squares, int count) {
+        return TRIANGLE_INDEX[squares[0]] >= 0 && (!onDiagonal(squares[0]) || compareTransposed(squares, count) <= 0);
+    }
+
+    static int transform(int square, int transform) {
+        int file = Bitboards.file(square);
+        int rank = Bitboards.rank(square);
+        if ((transform & 1) != 0) {
+            file = 7 - file;
+        }
+        if ((transform & 2) != 0) {
+            rank = 7 - rank;
+        }
+        return (transform & 4) != 0 ? Bitboards.square(rank, file) : Bitboards.square(file, rank);
+    }
+
+    static long attacks(int piece, int square, long occupancy) {
+        return switch (piece % TYPES) {
+            case 0 -> Attacks.king(square);
+            case 1 -> Attacks.queen(square, occupancy);
+            case 2 -> Attacks.rock(square, occupancy);
+            case 3 -> Attacks.bishop(square, occupancy);
+            case 4 -> Attacks.knight(square);
+            default -> throw new IllegalArgumentException("Pawns are not supported");
+        };
+    }
+
+    private static boolean onDiagonal(int square) {
+        return Bitboards.file(square) == Bitboards.rank(square);
+    }
+
+    private static int compareTransposed(int[] squares, int count) {
+        for (int i = 1; i < count; i++) {
+            int transposed = transform(squares[i], 4);
+            if (squares[i] != transposed) {
+                return Integer.compare(squares[i], transposed);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.chess.engine.tablebase;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.bitboard.Bitboards;
+import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.CastlingRights;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.models.Type;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Tablebase {
+    public static final String EXTENSION = ".tb";
+
+    static final int DRAW = 0;
+    static final int ILLEGAL = 0xFF;
+    static final int UNKNOWN = -1;
+
+    private static final int TYPES = TableLayout.TYPES;
+    private static final Type[] PIECE_TYPES = Type.values();
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private volatile int maxPieces = 2;
+
+    private Tablebase() {
+    }
+
+    public static Tablebase empty() {
+        return new Tablebase();
+    }
+
+    public static Tablebase open(Path directory) throws IOException {
+        Tablebase tablebase = new Tablebase();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                TableLayout layout = TableLayout.of(fileName.substring(0, fileName.length() - EXTENSION.length()));
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    if (channel.size() != layout.size) {
+                        throw new IOException("Unexpected table size: " + file);
+                    }
+                    tablebase.add(layout, channel.map(FileChannel.MapMode.READ_ONLY, 0, layout.size));
+                }
+            }
+        }
+        return tablebase;
+    }
+
+    public int maxPieces() {
+        return maxPieces;
+    }
+
+    public int tables() {
+        return tables.size();
+    }
+
+    public Optional<TablebaseResult> probe(ChessGame game) {
+        int value = probe(game.getBoard(), game.getCurrentPlayer(), game.getCastlingRights());
+        return value == UNKNOWN ? Optional.empty() : Optional.of(TablebaseResult.of(value));
+    }
+
+    public int bestMove(ChessGame game) {
+        if (probe(game).isEmpty()) {
+            return Move.NONE;
+        }
+        MoveList moves = game.legalMoves(new MoveList());
+        int best = Move.NONE;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            Optional<TablebaseResult> child = probe(game.applyMoveNoValidate(moves.get(i)));
+            if (child.isPresent() && -child.get().score() > bestScore) {
+                best = moves.get(i);
+                bestScore = -child.get().score();
+            }
+        }
+        return best;
+    }
+
+    void add(TableLayout layout, ByteBuffer values) {
+        tables.put(layout.name, new Table(layout, values));
+        maxPieces = Math.max(maxPieces, layout.count());
+    }
+
+    int probe(int[] pieces, int[] squares, int count, int sideToMove) {
+        int[] packed = new int[count];
+        int white = 0;
+        for (int i = 0; i < count; i++) {
+            packed[i] = pieces[i] << 6 | squares[i];
+            if (pieces[i] < TYPES) {
+                white++;
+            }
+        }
+        Arrays.sort(packed);
+
+        if (blackIsStronger(packed, white, count)) {
+            for (int i = 0; i < count; i++) {
+                int piece = packed[i] >>> 6;
+                packed[i] = (piece < TYPES ? piece + TYPES : piece - TYPES) << 6 | (packed[i] & 63) ^ 56;
+            }
+            Arrays.sort(packed);
+            white = count - white;
+            sideToMove ^= 1;
+        }
+
+        StringBuilder name = new StringBuilder(count + 1);
+        int[] ordered = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (i == white) {
+                name.append('v');
+            }
+            name.append(TableLayout.LETTERS.charAt((packed[i] >>> 6) % TYPES));
+            ordered[i] = packed[i] & 63;
+        }
+        if (count == 2) {
+            return DRAW;
+        }
+
+        Table table = tables.get(name.toString());
+        if (table == null) {
+            return UNKNOWN;
+        }
+        TableLayout.canonicalize(ordered, count);
+        int value = table.values.get(table.layout.index(ordered, sideToMove)) & 0xFF;
+        return value == ILLEGAL ? UNKNOWN : value;
+    }
+
+    private int probe(Board board, PieceColor sideToMove, int castlingRights) {
+        long occupancy = board.occupancy();
+        int count = Long.bitCount(occupancy);
+        if (castlingRights != CastlingRights.NONE || count > maxPieces) {
+            return UNKNOWN;
+        }
+        int[] pieces = new int[count];
+        int[] squares = new int[count];
+        int next = 0;
+        for (PieceColor color : PieceColor.values()) {
+            for (Type type : PIECE_TYPES) {
+                for (long bits = board.bitboard(color, type); bits != 0; bits &= bits - 1) {
+                    if (type == Type.PAWN) {
+                        return UNKNOWN;
+                    }
+                    pieces[next] = color.ordinal() * TYPES + type.ordinal();
+                    squares[next++] = Bitboards.first(bits);
+                }
+            }
+        }
+        return probe(pieces, squares, count, sideToMove.ordinal());
+    }
+
+    private static boolean blackIsStronger(int[] packed, int white, int count) {
+        int black = count - white;
+        if (black != white) {
+            return black > white;
+        }
+        for (int i = 0; i < white; i++) {
+            int whiteType = (packed[i] >>> 6) % TYPES;
+            int blackType = (packed[white + i] >>> 6) % TYPES;
+            if (whiteType != blackType) {
+                return blackType < whiteType;
+            }
+        }
+        return false;
+    }
+
+    private record Table(TableLayout layout, ByteBuffer values) {
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.chess.engine.tablebase;
+
+import com.example.chess.engine.bitboard.Bitboards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class TablebaseGenerator {
+    public static final int DEFAULT_MAX_PIECES = 4;
+
+    private static final int MAX_PLIES = 253;
+    private static final String MATERIAL = "QRBN";
+
+    private final Tablebase tablebase;
+
+    public TablebaseGenerator(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    public static List<String> materials(int maxPieces) {
+        List<String> materials = new ArrayList<>();
+        for (int count = 3; count <= maxPieces; count++) {
+            for (int black = 0; black * 2 <= count - 2; black++) {
+                List<String> strong = combinations(count - 2 - black);
+                List<String> weak = combinations(black);
+                for (String white : strong) {
+                    for (String other : weak) {
+                        if (white.length() > other.length() || compareMaterial(white, other) <= 0) {
+                            materials.add("K" + white + "vK" + other);
+                        }
+                    }
+                }
+            }
+        }
+        return materials;
+    }
+
+    public byte[] generate(String name) {
+        TableLayout layout = TableLayout.of(name);
+        byte[] values = new Generation(layout).run();
+        tablebase.add(layout, ByteBuffer.wrap(values));
+        return values;
+    }
+
+    public Tablebase generateAll(int maxPieces) {
+        for (String material : materials(maxPieces)) {
+            generate(material);
+        }
+        return tablebase;
+    }
+
+    private static List<String> combinations(int length) {
+        List<String> combinations = new ArrayList<>();
+        combine("", 0, length, combinations);
+        return combinations;
+    }
+
+    private static void combine(String prefix, int first, int length, List<String> combinations) {
+        if (prefix.length() == length) {
+            combinations.add(prefix);
+            return;
+        }
+        for (int type = first; type < MATERIAL.length(); type++) {
+            combine(prefix + MATERIAL.charAt(type), type, length, combinations);
+        }
+    }
+
+    private static int compareMaterial(String white, String black) {
+        for (int i = 0; i < white.length(); i++) {
+            int compare = Integer.compare(MATERIAL.indexOf(white.charAt(i)), MATERIAL.indexOf(black.charAt(i)));
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return 0;
+    }
+
+    private class Generation {
+        private final TableLayout layout;
+        private final int[] pieces;
+        private final int count;
+        private final int[] kings = new int[2];
+        private final byte[] values;
+        private final byte[] pending;
+        private final byte[] counters;
+        private final byte[] lossFloors;
+        private final int[] squares;
+        private final int[][] images;
+        private int maxPending;
+
+        Generation(TableLayout layout) {
+            this.layout = layout;
+            this.pieces = layout.pieces;
+            this.count = pieces.length;
+            for (int i = count - 1; i >= 0; i--) {
+                if (pieces[i] % TableLayout.TYPES == 0) {
+                    kings[pieces[i] / TableLayout.TYPES] = i;
+                }
+            }
+            this.values = new byte[layout.size];
+            this.pending = new byte[layout.size];
+            this.counters = new byte[layout.size];
+            this.lossFloors = new byte[layout.size];
+            this.squares = new int[count];
+            this.images = new int[8][count];
+        }
+
+        byte[] run() {
+            for (int index = 0; index < values.length; index++) {
+                initialize(index);
+            }
+            for (int ply = 0; ply + 1 <= maxPending; ply++) {
+                for (int index = 0; index < values.length; index++) {
+                    if ((pending[index] & 0xFF) == ply + 1 && values[index] == Tablebase.DRAW) {
+                        values[index] = (byte) (ply + 1);
+                        propagate(index, ply);
+                    }
+                }
+            }
+            return values;
+        }
+
+        private void initialize(int index) {
+            int sideToMove = layout.decode(index, squares);
+            long occupancy = occupancy(squares);
+            if (Long.bitCount(occupancy) != count || !TableLayout.isCanonical(squares, count)
+                    || attacked(squares[kings[sideToMove ^ 1]], sideToMove, occupancy, -1)) {
+                values[index] = (byte) Tablebase.ILLEGAL;
+                return;
+            }
+
+            boolean legalMove = false;
+            boolean draw = false;
+            int quiet = 0;
+            int win = Integer.MAX_VALUE;
+            int lossFloor = 0;
+            for (int i = 0; i < count; i++) {
+                if (pieces[i] / TableLayout.TYPES != sideToMove) {
+                    continue;
+                }
+                int from = squares[i];
+                long own = own(sideToMove);
+                for (long targets = TableLayout.attacks(pieces[i], from, occupancy) & ~own; targets != 0; targets &= targets - 1) {
+                    int to = Bitboards.first(targets);
+                    int captured = pieceAt(to);
+                    squares[i] = to;
+                    long after = occupancy ^ Bitboards.bit(from) | Bitboards.bit(to);
+                    if (!attacked(squares[kings[sideToMove]], sideToMove ^ 1, after, captured)) {
+                        legalMove = true;
+                        if (captured < 0) {
+                            quiet++;
+                        } else {
+                            int child = probeWithout(captured, sideToMove ^ 1);
+                            int plies = child - 1;
+                            if (child == Tablebase.DRAW) {
+                                draw = true;
+                            } else if (plies % 2 == 0) {
+                                win = Math.min(win, plies + 1);
+                            } else {
+                                lossFloor = Math.max(lossFloor, plies + 1);
+                            }
+                        }
+                    }
+                    squares[i] = from;
+                }
+            }
+
+            if (!legalMove) {
+                counters[index] = -1;
+                if (attacked(squares[kings[sideToMove]], sideToMove ^ 1, occupancy, -1)) {
+                    schedule(index, 0);
+                }
+            } else if (win != Integer.MAX_VALUE) {
+                counters[index] = -1;
+                schedule(index, win);
+            } else if (draw) {
+                counters[index] = -1;
+            } else if (quiet == 0) {
+                counters[index] = -1;
+                schedule(index, lossFloor);
+            } else {
+                counters[index] = (byte) quiet;
+                lossFloors[index] = (byte) lossFloor;
+            }
+        }
+
+        private void propagate(int index, int ply) {
+            int sideToMove = layout.decode(index, squares);
+            int mover = sideToMove ^ 1;
+            boolean loss = ply % 2 == 0;
+            for (int transform = 0; transform < 8; transform++) {
+                int[] image = images[transform];
+                for (int i = 0; i < count; i++) {
+                    image[i] = TableLayout.transform(squares[i], transform);
+                }
+                if (seen(transform)) {
+                    continue;
+                }
+                long imageOccupancy = occupancy(image);
+                for (int i = 0; i < count; i++) {
+                    if (pieces[i] / TableLayout.TYPES != mover) {
+                        continue;
+                    }
+                    int to = image[i];
+                    for (long origins = TableLayout.attacks(pieces[i], to, imageOccupancy) & ~imageOccupancy; origins != 0; origins &= origins - 1) {
+                        image[i] = Bitboards.first(origins);
+                        if (TableLayout.isCanonical(image, count)) {
+                            unmove(layout.index(image, mover), ply, loss);
+                        }
+                    }
+                    image[i] = to;
+                }
+            }
+        }
+
+        private void unmove(int predecessor, int ply, boolean childLoses) {
+            if (values[predecessor] != Tablebase.DRAW) {
+                return;
+            }
+            if (childLoses) {
+                counters[predecessor] = -1;
+                schedule(predecessor, ply + 1);
+            } else if (counters[predecessor] > 0 && --counters[predecessor] == 0) {
+                schedule(predecessor, Math.max(ply + 1, lossFloors[predecessor] & 0xFF));
+            }
+        }
+
+        private void schedule(int index, int plies) {
+            if (plies > MAX_PLIES) {
+                throw new IllegalStateException("Distance to mate exceeds " + MAX_PLIES + " plies in " + layout.name);
+            }
+            int value = plies + 1;
+            if (pending[index] == 0 || value < (pending[index] & 0xFF)) {
+                pending[index] = (byte) value;
+                maxPending = Math.max(maxPending, value);
+            }
+        }
+
+        private boolean seen(int transform) {
+            for (int i = 0; i < transform; i++) {
+                if (Arrays.equals(images[i], images[transform])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean attacked(int square, int color, long occupancy, int captured) {
+            for (int i = 0; i < count; i++) {
+                if (i != captured && pieces[i] / TableLayout.TYPES == color
+                        && Bitboards.contains(TableLayout.attacks(pieces[i], squares[i], occupancy), square)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int probeWithout(int captured, int sideToMove) {
+            int[] childPieces = new int[count - 1];
+            int[] childSquares = new int[count - 1];
+            for (int i = 0, next = 0; i < count; i++) {
+                if (i != captured) {
+                    childPieces[next] = pieces[i];
+                    childSquares[next++] = squares[i];
+                }
+            }
+            int value = tablebase.probe(childPieces, childSquares, count - 1, sideToMove);
+            if (value == Tablebase.UNKNOWN) {
+                throw new IllegalStateException("Missing sub-table for capture in " + layout.name);
+            }
+            return value;
+        }
+
+        private int pieceAt(int square) {
+            for (int i = 0; i < count; i++) {
+                if (squares[i] == square) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private long own(int color) {
+            long own = 0;
+            for (int i = 0; i < count; i++) {
+                if (pieces[i] / TableLayout.TYPES == color) {
+                    own |= Bitboards.bit(squares[i]);
+                }
+            }
+            return own;
+        }
+
+        private long occupancy(int[] squares) {
+            long occupancy = 0;
+            for (int i = 0; i < count; i++) {
+                occupancy |= Bitboards.bit(squares[i]);
+            }
+            return occupancy;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: TablebaseGenerator <directory> [maxPieces]");
+            System.exit(1);
+        }
+        Path directory = Files.createDirectories(Path.of(args[0]));
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_PIECES;
+        TablebaseGenerator generator = new TablebaseGenerator(Tablebase.empty());
+        for (String material : materials(maxPieces)) {
+            long start = System.nanoTime();
+            byte[] values = generator.generate(material);
+            Files.write(directory.resolve(material + Tablebase.EXTENSION), values);
+            System.out.println("wrote " + material + " (" + values.length + " positions) in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.chess.engine.tablebase;
+
+import com.example.chess.engine.search.Search;
+import lombok.Value;
+
+@Value
+public class TablebaseResult {
+    public enum Outcome {
+        WIN,
+        DRAW,
+        LOSS
+    }
+
+    Outcome outcome;
+    int plies;
+
+    static TablebaseResult of(int value) {
+        if (value == Tablebase.DRAW) {
+            return new TablebaseResult(Outcome.DRAW, 0);
+        }
+        int plies = value - 1;
+        return new TablebaseResult(plies % 2 == 0 ? Outcome.LOSS : Outcome.WIN, plies);
+    }
+
+    public int score() {
+        return switch (outcome) {
+            case WIN -> Search.MATE - plies;
+            case LOSS -> plies - Search.MATE;
+            case DRAW -> 0;
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.chess.exceptions;
+
+public class AnalysisRejectedException extends GameException {
+    public AnalysisRejectedException() {
+        super();
+    }
+
+    public AnalysisRejectedException(String message) {
+        super(message);
+    }
+}
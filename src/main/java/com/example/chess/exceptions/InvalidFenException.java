@@ -0,0 +1,11 @@
+package com.example.chess.exceptions;
+
+public class InvalidFenException extends GameException {
+    public InvalidFenException() {
+        super();
+    }
+
+    public InvalidFenException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.chess.repository;
 
+import com.example.chess.api.models.GameDeltaDto;
 import com.example.chess.api.models.GameStateDto;
+import com.example.chess.api.models.GameStatusDto;
+import com.example.chess.api.models.MoveDeltaDto;
+import com.example.chess.api.models.PieceTypeDto;
 import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.MoveHistory;
 import com.example.chess.engine.models.PieceMove;
 import com.example.chess.engine.models.GamePlayerDesc;
 import com.example.chess.engine.models.PieceColor;
@@ -15,7 +21,9 @@ import java.util.UUID;
 public class GameMetadata {
     private String id;
     private Map<PieceColor, String> playerTokens = generateTokens();
-    private ChessGame game;
+    private volatile ChessGame game;
+    private PieceColor engineSide;
+    private int engineThreads;
     private OffsetDateTime dateOfCreating = OffsetDateTime.now();
     private boolean secondPlayerJoined = false;
     private Map<PieceColor, String> generateTokens() {
@@ -29,45 +37,106 @@ public class GameMetadata {
     }
 
     public String currentPlayerToken() {
-        return playerTokens.get(game.getCurrentPlayer().negate());
+        return playerTokens.get(game.getCurrentPlayer());
     }
 
     public GamePlayerDesc currentPlayerDesc() {
         return new GamePlayerDesc(id, currentPlayerToken());
     }
 
+    public GameMetadata snapshot() {
+        GameMetadata snapshot = new GameMetadata();
+        snapshot.setId(id);
+        snapshot.setPlayerTokens(playerTokens);
+        snapshot.setGame(game);
+        snapshot.setDateOfCreating(dateOfCreating);
+        snapshot.setSecondPlayerJoined(secondPlayerJoined);
+        snapshot.setEngineSide(engineSide);
+        snapshot.setEngineThreads(engineThreads);
+        return snapshot;
+    }
+
+    public boolean isEngineToMove() {
+        return engineSide != null && !game.isFinished() && game.getCurrentPlayer() == engineSide;
+    }
+
     public void applyMove(PieceMove pieceMove) {
         game = game.applyMove(pieceMove);
     }
 
+    public void applyMove(int move) {
+        game = game.applyMove(move);
+    }
+
+    public GameStatusDto getGameStateForPlayer(String token, Integer since) {
+        int ply = game.getPreviousMoves().size();
+        return since == null || since < 0 || since > ply
+                ? getGameStateDtoForPlayer(token)
+                : getGameDeltaDtoForPlayer(token, since);
+    }
+
     public GameStateDto getGameStateDtoForPlayer(String token) {
         boolean forCurrentPlayer = currentPlayerToken().equals(token);
 
         GameStateDto gameStateDto = new GameStateDto();
-        gameStateDto.setMyTurn(forCurrentPlayer);
-        gameStateDto.setCurrentPlayer(game.getCurrentPlayer().toDto());
-
-        gameStateDto.setPieces(game.calculatePieceDtos(forCurrentPlayer));
-        if (!game.getPreviousMoves().isEmpty()) {
-            gameStateDto.setLastOpponentMove(
-                    game.getPreviousMoves().get(game.getPreviousMoves().size() - 1).toDto()
-            );
+        fillStatus(gameStateDto, forCurrentPlayer);
+        gameStateDto.setPieces(game.calculatePieceDtos(forCurrentPlayer && !game.isFinished()));
+        game.getPreviousMoves().last()
+                .ifPresent(move -> gameStateDto.setLastOpponentMove(move.toDto()));
+        return gameStateDto;
+    }
+
+    public GameDeltaDto getGameDeltaDtoForPlayer(String token, int since) {
+        boolean forCurrentPlayer = currentPlayerToken().equals(token);
+
+        GameDeltaDto gameDeltaDto = new GameDeltaDto();
+        fillStatus(gameDeltaDto, forCurrentPlayer);
+        gameDeltaDto.setSince(since);
+        gameDeltaDto.setMoves(game.getPreviousMoves().since(since).stream()
+                .map(GameMetadata::moveDeltaDto)
+                .toList());
+        if (forCurrentPlayer && !game.isFinished()) {
+            gameDeltaDto.setValidMoves(game.calculateValidMoveDtos());
         }
+        return gameDeltaDto;
+    }
+
+    private static MoveDeltaDto moveDeltaDto(MoveHistory.Entry entry) {
+        return new MoveDeltaDto(entry.move().getFrom().toString(), entry.move().getTo().toString(),
+                entry.captured() == null ? null : PieceTypeDto.valueOf(entry.captured().name()),
+                entry.move().getPromotion() == null ? null : PieceTypeDto.valueOf(entry.move().getPromotion().name()));
+    }
+
+    private void fillStatus(GameStatusDto gameStatusDto, boolean forCurrentPlayer) {
+        gameStatusDto.setPly(game.getPreviousMoves().size());
+        gameStatusDto.setMyTurn(forCurrentPlayer);
+        gameStatusDto.setCurrentPlayer(game.getCurrentPlayer().toDto());
+        gameStatusDto.setFen(Fen.format(game));
 
         switch (game.getStatus()) {
-            case CHECK -> gameStateDto.setCheck(true);
+            case CHECK -> gameStatusDto.setCheck(true);
             case CHECKMATE -> {
-                gameStateDto.setGameFinished(true);
-                gameStateDto.setGameFinishedReason("Checkmate! " + game.getCurrentPlayer().negate() + " wins!");
-                gameStateDto.setWinner(game.getCurrentPlayer().negate().toDto());
+                gameStatusDto.setGameFinished(true);
+                gameStatusDto.setGameFinishedReason("Checkmate! " + game.getCurrentPlayer().negate() + " wins!");
+                gameStatusDto.setWinner(game.getCurrentPlayer().negate().toDto());
             }
             case DRAW_STALEMATE -> {
-                gameStateDto.setGameFinished(true);
-                gameStateDto.setGameFinishedReason("Game finished with a stalemate deaw!");
+                gameStatusDto.setGameFinished(true);
+                gameStatusDto.setGameFinishedReason("Game finished with a stalemate deaw!");
+            }
+            case DRAW_REPETITION -> {
+                gameStatusDto.setGameFinished(true);
+                gameStatusDto.setGameFinishedReason("Game finished with a draw by threefold repetition!");
+            }
+            case DRAW_FIFTY_MOVES -> {
+                gameStatusDto.setGameFinished(true);
+                gameStatusDto.setGameFinishedReason("Game finished with a draw by the fifty-move rule!");
+            }
+            case DRAW_INSUFFICIENT_MATERIAL -> {
+                gameStatusDto.setGameFinished(true);
+                gameStatusDto.setGameFinishedReason("Game finished with a draw by insufficient material!");
             }
             case NORMAL -> {}
         }
-
-        return gameStateDto;
     }
 }
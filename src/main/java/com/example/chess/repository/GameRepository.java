@@ -1,9 +1,12 @@
 package com.example.chess.repository;
 
+import com.example.chess.engine.ChessGame;
+
 import java.util.Optional;
 
 public interface GameRepository {
     GameMetadata newGame();
+    GameMetadata newGame(ChessGame game);
     Optional<GameMetadata> find(String id);
     void save(GameMetadata metadata);
 }
@@ -13,7 +13,11 @@ public class GameRepositoryImpl implements GameRepository{
     private Map<String, GameMetadata> metadataMap = new ConcurrentHashMap<>();
     @Override
     public GameMetadata newGame() {
-        ChessGame game = ChessGame.start();
+        return newGame(ChessGame.start());
+    }
+
+    @Override
+    public GameMetadata newGame(ChessGame game) {
         GameMetadata metadata  = new GameMetadata();
         metadata.setGame(game);
         metadata.setId(generateId());
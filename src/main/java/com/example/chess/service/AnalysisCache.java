@@ -0,0 +1,52 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.search.SearchResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AnalysisCache {
+    private final Map<Long, SearchResult> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AnalysisCache(int capacity) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SearchResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Optional<SearchResult> get(long hash, int depth) {
+        SearchResult result = results.get(hash);
+        if (result != null && (result.getDepth() >= depth || result.isMate() || !result.hasMove())) {
+            hits.increment();
+            return Optional.of(result);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public synchronized void put(long hash, SearchResult result) {
+        SearchResult cached = results.get(hash);
+        if (cached == null || cached.getDepth() <= result.getDepth()) {
+            results.put(hash, result);
+        }
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.search.SearchLimits;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.engine.search.Searcher;
+import com.example.chess.exceptions.AnalysisRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class AnalysisScheduler {
+    private final Logger log = LoggerFactory.getLogger(AnalysisScheduler.class);
+
+    private final int queueCapacity;
+    private final int maxQueuedPerGame;
+    private final long deadlineMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<String, ArrayDeque<Task>> queues = new HashMap<>();
+    private final ArrayDeque<String> turns = new ArrayDeque<>();
+    private int queued;
+    private boolean shutdown;
+
+    private final Set<Task> running = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public AnalysisScheduler(@Value("${chess.analysis.threads:2}") int threads,
+                             @Value("${chess.analysis.queue-capacity:64}") int queueCapacity,
+                             @Value("${chess.analysis.max-queued-per-game:4}") int maxQueuedPerGame,
+                             @Value("${chess.analysis.deadline-ms:10000}") long deadlineMillis) {
+        this.queueCapacity = queueCapacity;
+        this.maxQueuedPerGame = maxQueuedPerGame;
+        this.deadlineMillis = deadlineMillis;
+
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "analysis #" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public CompletableFuture<SearchResult> submit(String gameId, Searcher searcher, ChessGame game, SearchLimits limits) {
+        return submit(gameId, searcher, game, limits, deadlineMillis);
+    }
+
+    public CompletableFuture<SearchResult> submit(String gameId, Searcher searcher, ChessGame game,
+                                                  SearchLimits limits, long deadlineMillis) {
+        Task task = new Task(gameId, searcher, game, limits, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+        List<Task> expiredTasks = new ArrayList<>();
+        lock.lock();
+        try {
+            removeExpired(System.nanoTime(), expiredTasks);
+            ArrayDeque<Task> queue = queues.get(gameId);
+            if (shutdown || queued >= queueCapacity || queue != null && queue.size() >= maxQueuedPerGame) {
+                rejected.increment();
+                throw new AnalysisRejectedException("Analysis queue is full for game " + gameId);
+            }
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(gameId, queue);
+                turns.add(gameId);
+            }
+            queue.add(task);
+            queued++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+            expiredTasks.forEach(this::expire);
+        }
+        return task;
+    }
+
+    public int cancelAll(String gameId) {
+        List<Task> tasks = new ArrayList<>();
+        lock.lock();
+        try {
+            ArrayDeque<Task> queue = queues.get(gameId);
+            if (queue != null) {
+                tasks.addAll(queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Task task : running) {
+            if (task.gameId.equals(gameId)) {
+                tasks.add(task);
+            }
+        }
+
+        int count = 0;
+        for (Task task : tasks) {
+            if (task.cancel(true)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getRunning() {
+        return running.size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Task> tasks = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            queues.values().forEach(tasks::addAll);
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        tasks.addAll(running);
+        tasks.forEach(task -> task.cancel(true));
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void work() {
+        while (true) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                return;
+            }
+            run(task);
+        }
+    }
+
+    private Task take() throws InterruptedException {
+        List<Task> expiredTasks = new ArrayList<>();
+        lock.lock();
+        try {
+            removeExpired(System.nanoTime(), expiredTasks);
+            while (turns.isEmpty()) {
+                if (shutdown) {
+                    return null;
+                }
+                if (!expiredTasks.isEmpty()) {
+                    lock.unlock();
+                    try {
+                        expiredTasks.forEach(this::expire);
+                        expiredTasks.clear();
+                    } finally {
+                        lock.lock();
+                    }
+                    continue;
+                }
+                notEmpty.await();
+                removeExpired(System.nanoTime(), expiredTasks);
+            }
+            String gameId = turns.poll();
+            ArrayDeque<Task> queue = queues.get(gameId);
+            Task task = queue.poll();
+            if (queue.isEmpty()) {
+                queues.remove(gameId);
+            } else {
+                turns.add(gameId);
+            }
+            queued--;
+            running.add(task);
+            return task;
+        } finally {
+            lock.unlock();
+            expiredTasks.forEach(this::expire);
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            if (task.isDone()) {
+                return;
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(task.deadline - System.nanoTime());
+            if (remaining <= 0) {
+                expire(task);
+                return;
+            }
+            SearchLimits limits = task.limits.getTimeMillis() > 0 && task.limits.getTimeMillis() <= remaining
+                    ? task.limits
+                    : task.limits.toBuilder().timeMillis(remaining).build();
+            SearchResult result = task.searcher.search(task.game, limits);
+            completed.increment();
+            if (!task.complete(result)) {
+                completed.decrement();
+            }
+        } catch (RuntimeException e) {
+            log.error("Analysis failed " + task.gameId, e);
+            task.completeExceptionally(e);
+        } finally {
+            running.remove(task);
+        }
+    }
+
+    private void removeExpired(long now, List<Task> expiredTasks) {
+        Iterator<Map.Entry<String, ArrayDeque<Task>>> entries = queues.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, ArrayDeque<Task>> entry = entries.next();
+            Iterator<Task> tasks = entry.getValue().iterator();
+            while (tasks.hasNext()) {
+                Task task = tasks.next();
+                if (task.deadline - now <= 0) {
+                    tasks.remove();
+                    queued--;
+                    expiredTasks.add(task);
+                }
+            }
+            if (entry.getValue().isEmpty()) {
+                entries.remove();
+                turns.remove(entry.getKey());
+            }
+        }
+    }
+
+    private void expire(Task task) {
+        if (task.completeExceptionally(new TimeoutException("Analysis deadline passed in queue"))) {
+            expired.increment();
+        }
+    }
+
+    private boolean remove(Task task) {
+        lock.lock();
+        try {
+            ArrayDeque<Task> queue = queues.get(task.gameId);
+            if (queue == null || !queue.remove(task)) {
+                return false;
+            }
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(task.gameId);
+                turns.remove(task.gameId);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class Task extends CompletableFuture<SearchResult> {
+        private final String gameId;
+        private final Searcher searcher;
+        private final ChessGame game;
+        private final SearchLimits limits;
+        private final long deadline;
+
+        Task(String gameId, Searcher searcher, ChessGame game, SearchLimits limits, long deadline) {
+            this.gameId = gameId;
+            this.searcher = searcher;
+            this.game = game;
+            this.limits = limits;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!super.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
+            cancelled.increment();
+            searcher.stop();
+            remove(this);
+            return true;
+        }
+    }
+}
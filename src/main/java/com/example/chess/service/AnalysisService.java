@@ -0,0 +1,128 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.search.SearchResult;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class AnalysisService {
+    private final EnginePlayer enginePlayer;
+    @Getter
+    private final AnalysisCache cache;
+    private final ConcurrentMap<Key, Pending> inFlight = new ConcurrentHashMap<>();
+
+    public AnalysisService(EnginePlayer enginePlayer,
+                           @Value("${chess.analysis.cache-size:4096}") int cacheSize) {
+        this.enginePlayer = enginePlayer;
+        this.cache = new AnalysisCache(cacheSize);
+    }
+
+    public CompletableFuture<SearchResult> analyze(String gameId, ChessGame game, int depth) {
+        long hash = game.getHash();
+        Key key = new Key(hash, depth);
+        while (true) {
+            Optional<SearchResult> cached = cache.get(hash, depth);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(cached.get());
+            }
+
+            Pending pending = inFlight.get(key);
+            if (pending == null) {
+                Pending created = new Pending();
+                pending = inFlight.putIfAbsent(key, created);
+                if (pending == null) {
+                    CompletableFuture<SearchResult> waiter = created.waiter();
+                    start(gameId, game, depth, key, created);
+                    return waiter;
+                }
+            }
+            CompletableFuture<SearchResult> waiter = pending.waiter();
+            if (waiter != null) {
+                return waiter;
+            }
+            inFlight.remove(key, pending);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private void start(String gameId, ChessGame game, int depth, Key key, Pending pending) {
+        CompletableFuture<SearchResult> search;
+        try {
+            search = enginePlayer.analyze(gameId, game, depth);
+        } catch (RuntimeException e) {
+            inFlight.remove(key, pending);
+            pending.result.completeExceptionally(e);
+            throw e;
+        }
+        pending.setSearch(search);
+        search.whenComplete((result, e) -> {
+            if (e == null) {
+                cache.put(key.hash(), result);
+            }
+            inFlight.remove(key, pending);
+            if (e == null) {
+                pending.result.complete(result);
+            } else {
+                pending.result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private record Key(long hash, int depth) {
+    }
+
+    private static final class Pending {
+        private final CompletableFuture<SearchResult> result = new CompletableFuture<>();
+        private CompletableFuture<SearchResult> search;
+        private int waiters;
+        private boolean abandoned;
+
+        synchronized CompletableFuture<SearchResult> waiter() {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<SearchResult> waiter = result.copy();
+            waiter.whenComplete((r, e) -> {
+                if (waiter.isCancelled()) {
+                    release();
+                }
+            });
+            return waiter;
+        }
+
+        void setSearch(CompletableFuture<SearchResult> search) {
+            synchronized (this) {
+                if (!abandoned) {
+                    this.search = search;
+                    return;
+                }
+            }
+            search.cancel(true);
+        }
+
+        private void release() {
+            CompletableFuture<SearchResult> running;
+            synchronized (this) {
+                if (--waiters > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                running = search;
+            }
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.book.OpeningBook;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.search.ParallelSearch;
+import com.example.chess.engine.search.Search;
+import com.example.chess.engine.search.SearchLimits;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.engine.search.Searcher;
+import com.example.chess.engine.search.TranspositionTable;
+import com.example.chess.engine.tablebase.Tablebase;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class EnginePlayer {
+    private final SearchLimits limits;
+    private final TranspositionTable transpositionTable;
+    private final int searchThreads;
+    private final int maxSearchThreads;
+    private final AnalysisScheduler scheduler;
+    private final OpeningBook openingBook;
+    private final Tablebase tablebase;
+    private final ExecutorService helperExecutor;
+
+    public EnginePlayer(AnalysisScheduler scheduler,
+                        OpeningBook openingBook,
+                        Tablebase tablebase,
+                        @Value("${chess.engine.think-time-ms:1000}") long thinkTimeMillis,
+                        @Value("${chess.engine.max-depth:64}") int maxDepth,
+                        @Value("${chess.engine.hash-mb:64}") int hashMegabytes,
+                        @Value("${chess.engine.search-threads:1}") int searchThreads,
+                        @Value("${chess.engine.max-search-threads:0}") int maxSearchThreads) {
+        this.limits = SearchLimits.builder().timeMillis(thinkTimeMillis).depth(maxDepth).build();
+        this.transpositionTable = new TranspositionTable(hashMegabytes);
+        this.maxSearchThreads = maxSearchThreads > 0 ? maxSearchThreads : Runtime.getRuntime().availableProcessors();
+        this.searchThreads = Math.max(1, Math.min(searchThreads, this.maxSearchThreads));
+        this.scheduler = scheduler;
+        this.openingBook = openingBook;
+        this.tablebase = tablebase;
+        this.helperExecutor = Executors.newCachedThreadPool(daemonThreads("engine helper #"));
+    }
+
+    public CompletableFuture<SearchResult> bestMove(String gameId, ChessGame game) {
+        return bestMove(gameId, game, searchThreads);
+    }
+
+    public CompletableFuture<SearchResult> bestMove(String gameId, ChessGame game, int threads) {
+        Optional<SearchResult> endgame = tablebaseResult(game);
+        if (endgame.isPresent()) {
+            return CompletableFuture.completedFuture(endgame.get());
+        }
+        int bookMove = openingBook.move(game, ThreadLocalRandom.current());
+        if (bookMove != Move.NONE) {
+            return CompletableFuture.completedFuture(bookResult(bookMove));
+        }
+        return scheduler.submit(gameId, searcher(threads), game, limits);
+    }
+
+    public CompletableFuture<SearchResult> analyze(String gameId, ChessGame game, int depth) {
+        Optional<SearchResult> endgame = tablebaseResult(game);
+        if (endgame.isPresent()) {
+            return CompletableFuture.completedFuture(endgame.get());
+        }
+        int bookMove = openingBook.bestMove(game);
+        if (bookMove != Move.NONE) {
+            return CompletableFuture.completedFuture(bookResult(bookMove));
+        }
+        SearchLimits analysisLimits = SearchLimits.depth(Math.max(1, Math.min(depth, SearchLimits.MAX_DEPTH)));
+        return scheduler.submit(gameId, searcher(searchThreads), game, analysisLimits);
+    }
+
+    public void cancel(String gameId) {
+        scheduler.cancelAll(gameId);
+    }
+
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    public AnalysisScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        helperExecutor.shutdownNow();
+    }
+
+    private static SearchResult bookResult(int move) {
+        return new SearchResult(move, 0, 0, 0, 0, new int[]{move});
+    }
+
+    private Optional<SearchResult> tablebaseResult(ChessGame game) {
+        return tablebase.probe(game).map(result -> {
+            int move = tablebase.bestMove(game);
+            return move == Move.NONE ? null : new SearchResult(move, result.score(), 0, 0, 0, new int[]{move});
+        });
+    }
+
+    private Searcher searcher(int threads) {
+        int searchThreads = Math.max(1, Math.min(threads, maxSearchThreads));
+        return searchThreads == 1
+                ? new Search(transpositionTable)
+                : new ParallelSearch(transpositionTable, searchThreads, helperExecutor);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
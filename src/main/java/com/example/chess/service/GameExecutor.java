@@ -0,0 +1,105 @@
+package com.example.chess.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class GameExecutor {
+    private static final int BATCH = 16;
+
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public GameExecutor(@Value("${chess.game.threads:0}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "game #" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable job = () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        Mailbox mailbox;
+        do {
+            mailbox = mailboxes.computeIfAbsent(gameId, Mailbox::new);
+        } while (!mailbox.add(job));
+        return future;
+    }
+
+    public <T> T execute(String gameId, Supplier<T> task) {
+        try {
+            return submit(gameId, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int getMailboxes() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class Mailbox implements Runnable {
+        private final String gameId;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private boolean scheduled;
+        private boolean retired;
+
+        Mailbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        boolean add(Runnable task) {
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+                tasks.add(task);
+                if (scheduled) {
+                    return true;
+                }
+                scheduled = true;
+            }
+            executor.execute(this);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            for (int i = 0; i < BATCH && (task = tasks.poll()) != null; i++) {
+                task.run();
+            }
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    retired = true;
+                    mailboxes.remove(gameId, this);
+                    return;
+                }
+            }
+            executor.execute(this);
+        }
+    }
+}
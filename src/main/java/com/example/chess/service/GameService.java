@@ -1,9 +1,16 @@
 package com.example.chess.service;
 
 import com.example.chess.api.models.MoveDto;
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
 import com.example.chess.engine.models.PieceMove;
 import com.example.chess.engine.models.GamePlayerDesc;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.exceptions.AnalysisRejectedException;
 import com.example.chess.exceptions.GameNotFoundException;
+import com.example.chess.exceptions.InvalidFenException;
+import com.example.chess.exceptions.InvalidMoveException;
 import com.example.chess.exceptions.InvalidTokenException;
 import com.example.chess.repository.GameMetadata;
 import com.example.chess.repository.GameRepository;
@@ -12,7 +19,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Consumer;
 
@@ -23,81 +29,131 @@ public class GameService {
 
     @Getter
     private final GameRepository gameRepository;
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
-    private final SubmissionPublisher<GameMetadata> gameUpdatesPublisher = new SubmissionPublisher<>(executor, Integer.MAX_VALUE);
-    private final ConcurrentMap<GamePlayerDesc, Consumer<GameMetadata>> handlers = new ConcurrentHashMap<>();
+    private final EnginePlayer enginePlayer;
+    private final GameExecutor gameExecutor;
+    private final GameUpdateRouter gameUpdateRouter;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository, EnginePlayer enginePlayer, GameExecutor gameExecutor,
+                       GameUpdateRouter gameUpdateRouter) {
         this.gameRepository = gameRepository;
-
-        GameUpdatesSubscriber subscriber = new GameUpdatesSubscriber();
-        gameUpdatesPublisher.subscribe(subscriber);
+        this.enginePlayer = enginePlayer;
+        this.gameExecutor = gameExecutor;
+        this.gameUpdateRouter = gameUpdateRouter;
     }
 
     public GameMetadata newGame() {
         return gameRepository.newGame();
     }
 
-    public GameMetadata find(String id) {
-        return gameRepository.find(id).orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
+    public GameMetadata newGame(String fen) {
+        ChessGame game;
+        try {
+            game = Fen.parse(fen);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFenException(e.getMessage());
+        }
+        return gameRepository.newGame(game);
     }
 
-    public GameMetadata joinGame(String id) {
-        var metadata = find(id);
-        metadata.setSecondPlayerJoined(true);
-        gameRepository.save(metadata);
-        gameUpdatesPublisher.submit(metadata);
-        return metadata;
+    public GameMetadata newEngineGame(PieceColor playerSide, String fen) {
+        return newEngineGame(playerSide, fen, enginePlayer.getSearchThreads());
     }
 
-    public GameMetadata applyMove(String id, String token, MoveDto moveDto) {
-        var metadata = find(id);
-        if (!metadata.currentPlayerToken().equals(token)) {
-            throw new InvalidTokenException("Invalid token");
-        }
-        metadata.applyMove(PieceMove.of(moveDto));
+    public GameMetadata newEngineGame(PieceColor playerSide, String fen, int engineThreads) {
+        GameMetadata metadata = fen == null || fen.isBlank() ? newGame() : newGame(fen);
+        metadata.setEngineSide(playerSide.negate());
+        metadata.setEngineThreads(engineThreads);
+        metadata.setSecondPlayerJoined(true);
         gameRepository.save(metadata);
 
-        log.debug("Submit called {} {} {}", id, token, moveDto);
-        gameUpdatesPublisher.submit(metadata);
+        requestEngineMove(metadata);
         return metadata;
     }
 
-    public void awaitOpponentMove(GamePlayerDesc gamePlayerDesc, Consumer<GameMetadata> handler) {
-        handlers.put(gamePlayerDesc, handler);
+    public GameMetadata find(String id) {
+        return gameRepository.find(id).orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
     }
 
-    class GameUpdatesSubscriber implements Flow.Subscriber<GameMetadata> {
-
-        private Flow.Subscription subscription;
-
-        @Override
-        public void onSubscribe(Flow.Subscription subscription) {
-            this.subscription = subscription;
-            subscription.request(1);
+    public GameMetadata joinGame(String id) {
+        var metadata = find(id);
+        if (metadata.getEngineSide() != null) {
+            throw new InvalidTokenException("Game is played against the engine");
         }
+        return gameExecutor.execute(id, () -> {
+            metadata.setSecondPlayerJoined(true);
+            gameRepository.save(metadata);
+            gameUpdateRouter.publish(metadata);
+            return metadata;
+        });
+    }
 
-        @Override
-        public void onNext(GameMetadata metadata) {
-            log.debug("On next {} {} {}", metadata.getId(), metadata.currentPlayerToken(), metadata.getGame().getCurrentPlayer());
-
-            GamePlayerDesc gamePlayerDesc = metadata.currentPlayerDesc();
-            Optional.ofNullable(handlers.remove(gamePlayerDesc)).ifPresent(handler -> {
-                log.debug("Handlers present {} {} {}", metadata.getId(), metadata.currentPlayerToken(), metadata.getGame().getCurrentPlayer());
-                handler.accept(metadata);
-            });
+    public GameMetadata applyMove(String id, String token, MoveDto moveDto) {
+        var metadata = find(id);
+        return gameExecutor.execute(id, () -> {
+            if (!metadata.currentPlayerToken().equals(token)) {
+                throw new InvalidTokenException("Invalid token");
+            }
+            if (metadata.getGame().isFinished()) {
+                throw new InvalidMoveException("Game is finished: " + metadata.getGame().getStatus());
+            }
+            metadata.applyMove(PieceMove.of(moveDto));
+            gameRepository.save(metadata);
+            GameMetadata snapshot = metadata.snapshot();
+
+            log.debug("Submit called {} {} {}", id, token, moveDto);
+            gameUpdateRouter.publish(metadata);
+
+            if (snapshot.getGame().isFinished()) {
+                enginePlayer.cancel(id);
+            }
+            requestEngineMove(metadata);
+            return snapshot;
+        });
+    }
 
-            subscription.request(1);
+    private void requestEngineMove(GameMetadata metadata) {
+        if (!metadata.isEngineToMove()) {
+            return;
         }
-
-        @Override
-        public void onError(Throwable throwable) {
-            log.error(throwable.getMessage(), throwable);
+        ChessGame game = metadata.getGame();
+        CompletableFuture<SearchResult> bestMove;
+        try {
+            bestMove = enginePlayer.bestMove(metadata.getId(), game, metadata.getEngineThreads());
+        } catch (AnalysisRejectedException e) {
+            log.error("Engine move rejected {}", metadata.getId());
+            return;
         }
+        bestMove.thenCompose(result -> gameExecutor.submit(metadata.getId(), () -> {
+            log.debug("Engine move {} {}", metadata.getId(), result);
+            if (metadata.getGame() != game || !result.hasMove()) {
+                return null;
+            }
+            metadata.applyMove(result.getBestMove());
+            gameRepository.save(metadata);
+            gameUpdateRouter.publish(metadata);
+            return metadata;
+        })).exceptionally(e -> {
+            if (e instanceof CancellationException || e.getCause() instanceof CancellationException) {
+                log.debug("Engine move cancelled {}", metadata.getId());
+            } else {
+                log.error("Engine move failed " + metadata.getId(), e);
+            }
+            return null;
+        });
+    }
 
-        @Override
-        public void onComplete() {
+    public void awaitOpponentMove(GamePlayerDesc gamePlayerDesc, Consumer<GameMetadata> handler) {
+        gameUpdateRouter.subscribe(gamePlayerDesc, handler);
 
+        GameMetadata metadata = find(gamePlayerDesc.getGameId());
+        if (metadata.isSecondPlayerJoined()
+                && metadata.currentPlayerToken().equals(gamePlayerDesc.getPlayerToken())
+                && gameUpdateRouter.unsubscribe(gamePlayerDesc, handler)) {
+            handler.accept(metadata);
         }
     }
+
+    public void stopAwaiting(GamePlayerDesc gamePlayerDesc, Consumer<GameMetadata> handler) {
+        gameUpdateRouter.unsubscribe(gamePlayerDesc, handler);
+    }
 }
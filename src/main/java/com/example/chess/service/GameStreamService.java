@@ -0,0 +1,323 @@
+package com.example.chess.service;
+
+import com.example.chess.exceptions.InvalidTokenException;
+import com.example.chess.repository.GameMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class GameStreamService {
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    public interface FrameSink {
+        void send(byte[] frame) throws IOException;
+
+        void close();
+
+        default void abort(Throwable cause) {
+            close();
+        }
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final Logger log = LoggerFactory.getLogger(GameStreamService.class);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final ExecutorService senders;
+    private final ExecutorService aborts;
+    private final ScheduledExecutorService heartbeats;
+    private final ConcurrentMap<String, Set<Stream>> streams = new ConcurrentHashMap<>();
+
+    private final AtomicInteger spectators = new AtomicInteger();
+    private final LongAdder serialized = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder slowDropped = new LongAdder();
+
+    public GameStreamService(GameUpdateRouter router,
+                             ObjectMapper objectMapper,
+                             @Value("${chess.stream.threads:4}") int threads,
+                             @Value("${chess.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                             @Value("${chess.stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${chess.stream.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "game stream #" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger abortCounter = new AtomicInteger();
+        this.aborts = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "game stream abort #" + abortCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game stream heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(1, writeTimeoutMillis / 2);
+        heartbeats.scheduleAtFixedRate(this::dropSlowConsumers, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        router.addListener(this::publish);
+    }
+
+    public ResponseBodyEmitter open(GameMetadata metadata, String token) {
+        if (token != null && !metadata.getPlayerTokens().containsValue(token)) {
+            throw new InvalidTokenException("Invalid token");
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        Subscription subscription = subscribe(metadata, token, new FrameSink() {
+            @Override
+            public void send(byte[] frame) throws IOException {
+                emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+
+            @Override
+            public void abort(Throwable cause) {
+                emitter.completeWithError(cause);
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    public Subscription subscribe(GameMetadata metadata, String token, FrameSink sink) {
+        Stream stream = new Stream(metadata.getId(), token, sink);
+        if (token == null) {
+            spectators.incrementAndGet();
+        }
+        streams.compute(metadata.getId(), (id, gameStreams) -> {
+            Set<Stream> set = gameStreams == null ? ConcurrentHashMap.newKeySet() : gameStreams;
+            set.add(stream);
+            return set;
+        });
+        stream.offer(ply(metadata), metadata.snapshot());
+        return stream::close;
+    }
+
+    public void publish(GameMetadata metadata) {
+        Set<Stream> gameStreams = streams.get(metadata.getId());
+        if (gameStreams == null) {
+            return;
+        }
+        int ply = ply(metadata);
+        byte[] spectatorFrame = null;
+        for (Stream stream : gameStreams) {
+            if (stream.token != null) {
+                stream.offer(ply, metadata);
+                continue;
+            }
+            if (spectatorFrame == null) {
+                try {
+                    spectatorFrame = frame(metadata, null);
+                } catch (IOException e) {
+                    log.error("Game state serialization failed " + metadata.getId(), e);
+                    return;
+                }
+            }
+            stream.offer(ply, spectatorFrame);
+        }
+    }
+
+    public int getStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public int getSpectators() {
+        return spectators.get();
+    }
+
+    public long getSerialized() {
+        return serialized.sum();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getConflated() {
+        return conflated.sum();
+    }
+
+    public long getSlowDropped() {
+        return slowDropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        aborts.shutdownNow();
+        streams.values().forEach(set -> set.forEach(stream -> stream.sink.close()));
+    }
+
+    private void heartbeat() {
+        streams.values().forEach(set -> set.forEach(Stream::heartbeat));
+    }
+
+    private void dropSlowConsumers() {
+        long now = System.nanoTime();
+        streams.values().forEach(set -> set.forEach(stream -> stream.interruptIfStalled(now)));
+    }
+
+    private static int ply(GameMetadata metadata) {
+        return metadata.getGame().getPreviousMoves().size();
+    }
+
+    private byte[] frame(GameMetadata metadata, String token) throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(1024);
+        frame.write(("event:state\nid:" + ply(metadata) + "\ndata:")
+                .getBytes(StandardCharsets.UTF_8));
+        objectMapper.writeValue(frame, metadata.getGameStateDtoForPlayer(token));
+        frame.write('\n');
+        frame.write('\n');
+        serialized.increment();
+        return frame.toByteArray();
+    }
+
+    private class Stream implements Runnable {
+        private final String gameId;
+        private final String token;
+        private final FrameSink sink;
+        private final AtomicReference<Object> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean aborted;
+        private int lastPly = -1;
+        private Thread writer;
+        private long writeStarted;
+
+        Stream(String gameId, String token, FrameSink sink) {
+            this.gameId = gameId;
+            this.token = token;
+            this.sink = sink;
+        }
+
+        void offer(int ply, Object event) {
+            synchronized (this) {
+                if (ply <= lastPly) {
+                    return;
+                }
+                lastPly = ply;
+                Object previous = pending.getAndSet(event);
+                if (previous != null && previous != HEARTBEAT) {
+                    conflated.increment();
+                }
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            if (pending.compareAndSet(null, HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void run() {
+            Object event;
+            while (!closed.get() && (event = pending.getAndSet(null)) != null) {
+                try {
+                    write(event instanceof GameMetadata metadata ? frame(metadata, token) : (byte[]) event);
+                    if (event != HEARTBEAT) {
+                        sent.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Stream closed {} {}", gameId, e.getMessage());
+                    close();
+                }
+            }
+            if (closed.get() && !aborted) {
+                sink.close();
+            }
+            scheduled.set(false);
+            if (!closed.get() && pending.get() != null) {
+                schedule();
+            }
+        }
+
+        void interruptIfStalled(long now) {
+            synchronized (this) {
+                if (writer == null || now - writeStarted < writeTimeoutNanos) {
+                    return;
+                }
+                log.debug("Dropping slow stream {}", gameId);
+                slowDropped.increment();
+                aborted = true;
+                close();
+                IOException cause = new IOException("Stream write stalled for "
+                        + TimeUnit.NANOSECONDS.toMillis(now - writeStarted) + " ms");
+                aborts.execute(() -> sink.abort(cause));
+                writer.interrupt();
+                writer = null;
+            }
+        }
+
+        private void write(byte[] frame) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+                writeStarted = System.nanoTime();
+            }
+            try {
+                sink.send(frame);
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                }
+                Thread.interrupted();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (token == null) {
+                spectators.decrementAndGet();
+            }
+            streams.computeIfPresent(gameId, (id, gameStreams) -> {
+                gameStreams.remove(this);
+                return gameStreams.isEmpty() ? null : gameStreams;
+            });
+        }
+
+        private void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                senders.execute(this);
+            }
+        }
+    }
+}
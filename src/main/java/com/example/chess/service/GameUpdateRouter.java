@@ -0,0 +1,188 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.models.GamePlayerDesc;
+import com.example.chess.repository.GameMetadata;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Service
+public class GameUpdateRouter {
+    private final Logger log = LoggerFactory.getLogger(GameUpdateRouter.class);
+
+    private final int queueCapacity;
+    private final ExecutorService executor;
+    private final ConcurrentMap<GamePlayerDesc, Consumer<GameMetadata>> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final List<Consumer<GameMetadata>> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder lagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    public GameUpdateRouter(@Value("${chess.updates.threads:4}") int threads,
+                            @Value("${chess.updates.queue-per-game:16}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "game updates #" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void subscribe(GamePlayerDesc gamePlayerDesc, Consumer<GameMetadata> handler) {
+        handlers.put(gamePlayerDesc, handler);
+    }
+
+    public boolean unsubscribe(GamePlayerDesc gamePlayerDesc, Consumer<GameMetadata> handler) {
+        return handlers.remove(gamePlayerDesc, handler);
+    }
+
+    public void addListener(Consumer<GameMetadata> listener) {
+        listeners.add(listener);
+    }
+
+    public void publish(GameMetadata metadata) {
+        published.increment();
+        Update update = new Update(metadata.snapshot(), System.nanoTime());
+        Route route;
+        do {
+            route = routes.computeIfAbsent(metadata.getId(), Route::new);
+        } while (!route.offer(update));
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getRoutes() {
+        return routes.size();
+    }
+
+    public int getSubscribers() {
+        return handlers.size();
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public double getAverageLagMillis() {
+        long count = delivered.sum();
+        return count == 0 ? 0 : lagNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxLagMillis() {
+        return maxLagNanos.get() / 1e6;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void deliver(Update update) {
+        long lag = System.nanoTime() - update.published;
+        lagNanos.add(lag);
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        delivered.increment();
+
+        GameMetadata metadata = update.metadata;
+        log.debug("On next {} {} {}", metadata.getId(), metadata.currentPlayerToken(), metadata.getGame().getCurrentPlayer());
+        Optional.ofNullable(handlers.remove(metadata.currentPlayerDesc())).ifPresent(handler -> {
+            log.debug("Handlers present {} {} {}", metadata.getId(), metadata.currentPlayerToken(), metadata.getGame().getCurrentPlayer());
+            try {
+                handler.accept(metadata);
+            } catch (RuntimeException e) {
+                log.error("Game update handler failed " + metadata.getId(), e);
+            }
+        });
+        for (Consumer<GameMetadata> listener : listeners) {
+            try {
+                listener.accept(metadata);
+            } catch (RuntimeException e) {
+                log.error("Game update listener failed " + metadata.getId(), e);
+            }
+        }
+    }
+
+    private record Update(GameMetadata metadata, long published) {
+    }
+
+    private class Route implements Runnable {
+        private final String gameId;
+        private final ArrayDeque<Update> updates = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean retired;
+
+        Route(String gameId) {
+            this.gameId = gameId;
+        }
+
+        boolean offer(Update update) {
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+                if (updates.size() >= queueCapacity) {
+                    updates.poll();
+                    queued.decrementAndGet();
+                    dropped.increment();
+                }
+                updates.add(update);
+                queued.incrementAndGet();
+                if (scheduled) {
+                    return true;
+                }
+                scheduled = true;
+            }
+            executor.execute(this);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Update update;
+                synchronized (this) {
+                    update = updates.poll();
+                    if (update == null) {
+                        scheduled = false;
+                        break;
+                    }
+                    queued.decrementAndGet();
+                }
+                deliver(update);
+            }
+            routes.computeIfPresent(gameId, (id, route) -> route.retireIfIdle() ? null : route);
+        }
+
+        private synchronized boolean retireIfIdle() {
+            retired = !scheduled && updates.isEmpty();
+            return retired;
+        }
+    }
+}
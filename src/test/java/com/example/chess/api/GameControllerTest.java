@@ -1,8 +1,14 @@
 package com.example.chess.api;
 
+import com.example.chess.api.models.AnalysisDto;
+import com.example.chess.api.models.ColorDto;
 import com.example.chess.api.models.GameConnectionParamsDto;
+import com.example.chess.api.models.GameDeltaDto;
 import com.example.chess.api.models.GameStateDto;
+import com.example.chess.api.models.MoveDeltaDto;
 import com.example.chess.api.models.MoveDto;
+import com.example.chess.api.models.PieceTypeDto;
+import com.example.chess.api.models.UpdateStatsDto;
 import com.example.chess.engine.ChessGameTest;
 import com.example.chess.engine.models.PieceMove;
 import org.junit.jupiter.api.Disabled;
@@ -15,6 +21,10 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 
 import java.util.List;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,7 +38,8 @@ import org.springframework.http.ResponseEntity;
 import static org.junit.jupiter.api.Assertions.*;
 
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "chess.engine.think-time-ms=100")
 public class GameControllerTest {
     private static final int TIMEOUT = 500;
 
@@ -89,6 +100,181 @@ public class GameControllerTest {
         assertEquals("Checkmate! WHITE wins!", blackFinal.getGameFinishedReason());
     }
 
+    @Test
+    void testPlayVsEngine() throws ExecutionException, InterruptedException, TimeoutException {
+        GameConnectionParamsDto human = post("/host-vs-engine?side=WHITE", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+        assertTrue(human.getGameState().isMyTurn());
+
+        GameStateDto afterMove = move(human.getId(), human.getToken(), new MoveDto("E2", "E4"));
+        assertFalse(afterMove.isMyTurn());
+
+        GameStateDto reply = awaitMove(human.getId(), human.getToken()).get(TIMEOUT, TimeUnit.SECONDS);
+        assertTrue(reply.isMyTurn());
+        assertEquals(ColorDto.WHITE, reply.getCurrentPlayer());
+        assertNotNull(reply.getLastOpponentMove());
+    }
+
+    @Test
+    void testEngineMovesFirst() throws ExecutionException, InterruptedException, TimeoutException {
+        GameConnectionParamsDto human = post("/host-vs-engine?side=BLACK", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+
+        GameStateDto reply = awaitMove(human.getId(), human.getToken()).get(TIMEOUT, TimeUnit.SECONDS);
+        assertTrue(reply.isMyTurn());
+        assertEquals(ColorDto.BLACK, reply.getCurrentPlayer());
+        assertNotNull(reply.getLastOpponentMove());
+    }
+
+    @Test
+    void testEngineWithHelperThreads() throws ExecutionException, InterruptedException, TimeoutException {
+        GameConnectionParamsDto human = post("/host-vs-engine?side=BLACK&threads=3", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+
+        GameStateDto reply = awaitMove(human.getId(), human.getToken()).get(TIMEOUT, TimeUnit.SECONDS);
+        assertTrue(reply.isMyTurn());
+        assertNotNull(reply.getLastOpponentMove());
+    }
+
+    @Test
+    void testAnalysis() {
+        GameConnectionParamsDto white = post("/host?fen=6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+
+        AnalysisDto analysis = analysis(white.getId(), 3);
+        assertEquals(new MoveDto("A1", "A8", null), analysis.getBestMove());
+        assertEquals(new MoveDto("A1", "A8", null), analysis.getPv().get(0));
+        assertEquals(1, analysis.getMateIn());
+        assertEquals("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", analysis.getFen());
+
+        AnalysisDto cached = analysis(white.getId(), 1);
+        assertEquals(analysis, cached);
+    }
+
+    @Test
+    void testStream() throws InterruptedException {
+        GameConnectionParamsDto human = post("/host-vs-engine?side=WHITE", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+        BlockingQueue<String> events = stream(human.getId(), human.getToken());
+        assertTrue(nextState(events).contains("\"myTurn\":true"));
+
+        move(human.getId(), human.getToken(), new MoveDto("E2", "E4"));
+        String state;
+        do {
+            state = nextState(events);
+        } while (!state.contains("\"myTurn\":true"));
+        assertTrue(state.contains("\"lastOpponentMove\":{"));
+    }
+
+    @Test
+    void testSpectatorStream() throws InterruptedException {
+        GameConnectionParamsDto white = host();
+        GameConnectionParamsDto black = join(white.getId());
+        BlockingQueue<String> events = stream(white.getId(), "");
+        assertTrue(nextState(events).contains("\"myTurn\":false"));
+
+        move(white.getId(), white.getToken(), new MoveDto("E2", "E4"));
+        move(black.getId(), black.getToken(), new MoveDto("E7", "E5"));
+        String state;
+        do {
+            state = nextState(events);
+        } while (!state.contains("\"fen\":\"rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w "));
+        assertTrue(state.contains("\"myTurn\":false"));
+    }
+
+    @Test
+    void testDeltaResponses() throws ExecutionException, InterruptedException, TimeoutException {
+        GameConnectionParamsDto white = post("/host?fen=4k3/8/8/3p4/4P3/8/8/4K3 w - - 0 1", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+        assertEquals(0, white.getGameState().getPly());
+        GameConnectionParamsDto black = join(white.getId());
+
+        GameDeltaDto afterCapture = post("/" + white.getId() + "/move?since=0", Optional.of(white.getToken()),
+                new MoveDto("E4", "D5"), GameDeltaDto.class);
+        assertEquals(1, afterCapture.getPly());
+        assertEquals(0, afterCapture.getSince());
+        assertEquals(List.of(new MoveDeltaDto("E4", "D5", PieceTypeDto.PAWN, null)), afterCapture.getMoves());
+        assertFalse(afterCapture.isMyTurn());
+        assertNull(afterCapture.getValidMoves());
+
+        GameDeltaDto opponentView = CompletableFuture.supplyAsync(() ->
+                post("/" + black.getId() + "/wait-for-my-move?since=0", Optional.of(black.getToken()), "",
+                        GameDeltaDto.class), cfPool).get(TIMEOUT, TimeUnit.SECONDS);
+        assertTrue(opponentView.isMyTurn());
+        assertEquals(afterCapture.getMoves(), opponentView.getMoves());
+        assertEquals(List.of("D7", "D8", "E7", "F7", "F8"), opponentView.getValidMoves().get("E8"));
+
+        GameStateDto snapshot = post("/" + black.getId() + "/move?since=5", Optional.of(black.getToken()),
+                new MoveDto("E8", "D7"), GameStateDto.class);
+        assertEquals(2, snapshot.getPly());
+        assertEquals(3, snapshot.getPieces().size());
+    }
+
+    @Test
+    void testNoMovesInDeadPosition() {
+        GameConnectionParamsDto white = post("/host?fen=4k3/8/8/8/8/8/8/K7 w - - 0 1", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+        assertTrue(white.getGameState().isGameFinished());
+        assertEquals("Game finished with a draw by insufficient material!",
+                white.getGameState().getGameFinishedReason());
+        join(white.getId());
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add("ptoken", white.getToken());
+        ResponseEntity<String> badMove = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/game/" + white.getId() + "/move",
+                new HttpEntity<>(new MoveDto("A1", "A2"), httpHeaders), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, badMove.getStatusCode());
+    }
+
+    @Test
+    void testUpdateStats() throws ExecutionException, InterruptedException, TimeoutException {
+        GameConnectionParamsDto human = post("/host-vs-engine?side=WHITE", Optional.empty(), "",
+                GameConnectionParamsDto.class);
+        move(human.getId(), human.getToken(), new MoveDto("E2", "E4"));
+        awaitMove(human.getId(), human.getToken()).get(TIMEOUT, TimeUnit.SECONDS);
+
+        ResponseEntity<UpdateStatsDto> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/game/updates/stats", UpdateStatsDto.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getPublished() >= 2);
+        assertTrue(response.getBody().getDelivered() >= 1);
+    }
+
+    @Test
+    void testAnalysisGameNotFound() {
+        ResponseEntity<String> response =
+                restTemplate.getForEntity("http://localhost:" + port + "/api/game/broken-id/analysis", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private AnalysisDto analysis(String id, int depth) {
+        ResponseEntity<AnalysisDto> responseEntity = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/game/" + id + "/analysis?depth=" + depth, AnalysisDto.class);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        return responseEntity.getBody();
+    }
+
+    private BlockingQueue<String> stream(String id, String token) {
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/game/" + id + "/stream"
+                        + (token.isEmpty() ? "" : "?token=" + token))).build();
+        HttpClient.newHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+        return lines;
+    }
+
+    private String nextState(BlockingQueue<String> lines) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertNotNull(line);
+            if (line.startsWith("data:")) {
+                return line;
+            }
+        }
+    }
+
     private GameStateDto moveSequence(String id, String token, List<MoveDto> moves) {
         GameStateDto state = null;
         for (MoveDto move : moves) {
@@ -170,7 +356,7 @@ public class GameControllerTest {
         HttpEntity<String> request = new HttpEntity<>("", httpHeaders);
 
         ResponseEntity<String> badJoin =
-                restTemplate.postForEntity("http://localhost:" + port + "/api/game/broken-id//wait-for-my-move", "", String.class);
+                restTemplate.postForEntity("http://localhost:" + port + "/api/game/broken-id//wait-for-my-move", request, String.class);
         assertEquals(HttpStatus.NOT_FOUND, badJoin.getStatusCode());
         assertNotNull(badJoin.getBody());
         assertTrue(badJoin.getBody().contains("not found"));
@@ -0,0 +1,52 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.*;
+import com.example.chess.engine.models.piece.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttackMapTest {
+
+    @Test
+    void testIncrementalMatchesFullRecalculation() {
+        Random random = new Random(11);
+
+        for (int gameNumber = 0; gameNumber < 20; gameNumber++) {
+            ChessGame game = ChessGame.start();
+            for (int ply = 0; ply < 100 && !game.isFinished(); ply++) {
+                List<PieceMove> moves = game.getValidMovesForCurrentPlayer().entrySet().stream()
+                        .flatMap(e -> e.getValue().stream().map(to -> new PieceMove(e.getKey(), to)))
+                        .sorted(Comparator.comparing((PieceMove m) -> m.getFrom().getSquare() * 64 + m.getTo().getSquare()))
+                        .collect(Collectors.toList());
+                game = game.applyMove(moves.get(random.nextInt(moves.size())));
+
+                AttackMap expected = AttackMap.of(game.getBoard(), game.getCurrentPlayer());
+                AttackMap actual = game.getAttackMap();
+                for (PieceColor color : PieceColor.values()) {
+                    assertEquals(expected.attacks(color), actual.attacks(color));
+                }
+                assertEquals(expected.getCheckers(), actual.getCheckers());
+                assertEquals(expected.getPinned(), actual.getPinned());
+            }
+        }
+    }
+
+    @Test
+    void testPinsAndCheckers() {
+        Piece king = new King(Position.of(5, 1), PieceColor.WHITE);
+        Piece knight = new Knight(Position.of(5, 3), PieceColor.WHITE);
+        Piece rock = new Rock(Position.of(5, 8), PieceColor.BLACK);
+        Piece bishop = new Bishop(Position.of(2, 4), PieceColor.BLACK);
+
+        Board board = new Board(Arrays.asList(king, knight, rock, bishop));
+        AttackMap attackMap = AttackMap.of(board, PieceColor.WHITE);
+
+        assertEquals(1L << knight.getPosition().getSquare(), attackMap.getPinned());
+        assertEquals(1L << bishop.getPosition().getSquare(), attackMap.getCheckers());
+        assertTrue(attackMap.inCheck());
+    }
+}
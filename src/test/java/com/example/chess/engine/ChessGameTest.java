@@ -1,9 +1,11 @@
 package com.example.chess.engine;
 
 import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.CastlingRights;
 import com.example.chess.engine.models.PieceColor;
 import com.example.chess.engine.models.PieceMove;
 import com.example.chess.engine.models.Position;
+import com.example.chess.engine.models.Type;
 import com.example.chess.engine.models.piece.*;
 import com.example.chess.exceptions.InvalidMoveException;
 import org.mockito.internal.util.collections.Sets;
@@ -51,6 +53,105 @@ public class ChessGameTest {
         assertEquals(GameStatus.CHECKMATE, game.getStatus());
     }
 
+    @Test
+    void testHistoryBranches() {
+        ChessGame game = ChessGame.start().applyMove(new PieceMove(Position.of("E2"), Position.of("E4")));
+        ChessGame first = game.applyMove(new PieceMove(Position.of("E7"), Position.of("E5")));
+        ChessGame second = game.applyMove(new PieceMove(Position.of("C7"), Position.of("C5")));
+
+        assertEquals(movesFromString("E2E4").map(PieceMove::toDto).collect(Collectors.toList()),
+                game.getPreviousMoves().stream().map(PieceMove::toDto).collect(Collectors.toList()));
+        assertEquals(2, first.getPreviousMoves().size());
+        assertEquals(Position.of("E5"), first.getPreviousMoves().get(1).getTo());
+        assertEquals(Position.of("C5"), second.getPreviousMoves().last().orElseThrow().getTo());
+        assertEquals(Position.of("E4"), second.getPreviousMoves().get(0).getTo());
+    }
+
+    @Test
+    void testHistoryRecordsCaptures() {
+        ChessGame game = ChessGame.start();
+        for (PieceMove move : movesFromString("E2E4 D7D5 E4D5 C7C5 D5C6 D8D2").collect(Collectors.toList())) {
+            game = game.applyMove(move);
+        }
+
+        List<MoveHistory.Entry> entries = game.getPreviousMoves().since(2);
+        assertEquals(4, entries.size());
+        assertEquals(Type.PAWN, entries.get(0).captured());
+        assertNull(entries.get(1).captured());
+        assertEquals(Type.PAWN, entries.get(2).captured());
+        assertEquals(Type.PAWN, entries.get(3).captured());
+        assertEquals(Position.of("D2"), entries.get(3).move().getTo());
+        assertTrue(game.getPreviousMoves().since(6).isEmpty());
+
+        ChessGame searched = game.applyMoveNoValidate(new PieceMove(Position.of("C1"), Position.of("D2")));
+        assertNull(searched.getPreviousMoves().since(6).get(0).captured());
+    }
+
+    @Test
+    void testThreefoldRepetition() {
+        ChessGame game = ChessGame.start();
+        List<PieceMove> moves = movesFromString("G1F3 G8F6 F3G1 F6G8 G1F3 G8F6 F3G1").collect(Collectors.toList());
+        for (PieceMove move : moves) {
+            game = game.applyMove(move);
+            assertFalse(game.isFinished());
+        }
+
+        game = game.applyMove(new PieceMove(Position.of("F6"), Position.of("G8")));
+        assertTrue(game.isFinished());
+        assertEquals(GameStatus.DRAW_REPETITION, game.getStatus());
+        assertEquals(3, game.repetitions());
+    }
+
+    @Test
+    void testNoMovesAfterThreefoldRepetition() {
+        ChessGame game = ChessGame.start();
+        for (PieceMove move : movesFromString("G1F3 G8F6 F3G1 F6G8 G1F3 G8F6 F3G1 F6G8").collect(Collectors.toList())) {
+            game = game.applyMove(move);
+        }
+        assertEquals(GameStatus.DRAW_REPETITION, game.getStatus());
+
+        ChessGame drawn = game;
+        assertThrows(InvalidMoveException.class,
+                () -> drawn.applyMove(new PieceMove(Position.of("E2"), Position.of("E4"))));
+        assertTrue(drawn.isFinished());
+    }
+
+    @Test
+    void testFiftyMoveRule() {
+        String[] whiteRock = {"B3", "C3", "D3", "E3", "F3", "G3", "H3"};
+        String[] blackRock = {"B6", "C6", "D6", "E6", "F6", "G6"};
+        Board board = new Board(Arrays.asList(
+                new King(Position.of("A1"), PieceColor.WHITE),
+                new Rock(Position.of(whiteRock[0]), PieceColor.WHITE),
+                new King(Position.of("A8"), PieceColor.BLACK),
+                new Rock(Position.of(blackRock[0]), PieceColor.BLACK)));
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
+
+        for (int move = 0; move < 50; move++) {
+            assertFalse(game.isFinished());
+            game = game.applyMove(new PieceMove(Position.of(whiteRock[move % whiteRock.length]),
+                    Position.of(whiteRock[(move + 1) % whiteRock.length])));
+            assertFalse(game.isFinished());
+            game = game.applyMove(new PieceMove(Position.of(blackRock[move % blackRock.length]),
+                    Position.of(blackRock[(move + 1) % blackRock.length])));
+        }
+
+        assertEquals(100, game.getHalfmoveClock());
+        assertTrue(game.isFinished());
+        assertEquals(GameStatus.DRAW_FIFTY_MOVES, game.getStatus());
+    }
+
+    @Test
+    void testInsufficientMaterial() {
+        assertEquals(GameStatus.DRAW_INSUFFICIENT_MATERIAL, Fen.parse("8/8/8/3k4/8/8/8/KN6 w - - 0 1").getStatus());
+        assertEquals(GameStatus.DRAW_INSUFFICIENT_MATERIAL, Fen.parse("8/2b5/8/3k4/8/8/8/K1B5 w - - 0 1").getStatus());
+        assertTrue(Fen.parse("8/8/8/3k4/8/8/8/K7 b - - 0 1").isFinished());
+
+        assertFalse(Fen.parse("8/3b4/8/3k4/8/8/8/K1B5 w - - 0 1").isFinished());
+        assertFalse(Fen.parse("8/8/8/3k4/8/8/8/KNN5 w - - 0 1").isFinished());
+        assertFalse(Fen.parse("8/8/8/3k4/8/8/8/KR6 w - - 0 1").isFinished());
+    }
+
     @Test
     void testValidMovesKnight1() {
         Piece whiteKing = new King(Position.of(2, 2), PieceColor.WHITE);
@@ -59,7 +160,7 @@ public class ChessGameTest {
 
         Board board = new Board(Arrays.asList(whiteKing, whiteKnight, blackKnight));
 
-        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         Set<Position> validMoves = whiteKnight.finallyValidMoves(game);
 
         assertEquals(Sets.newSet(blackKnight.getPosition()), validMoves);
@@ -74,7 +175,7 @@ public class ChessGameTest {
         Piece k4 = new Knight(Position.of(5, 4), PieceColor.BLACK);
 
         Board board = new Board(Arrays.asList(rock, k1, k2, ki, k4));
-        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         Set<Position> validMoves = rock.finallyValidMoves(game);
 
         assertEquals(Sets.newSet(k4.getPosition(), ki.getPosition().rightPosition(), ki.getPosition().rightPosition().rightPosition()), validMoves);
@@ -90,13 +191,13 @@ public class ChessGameTest {
         Piece pe = new Pawn(Position.of(6,4), PieceColor.BLACK);
 
         Board board = new Board(Arrays.asList(ki, p1));
-        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         Set<Position> validMoves = p1.finallyValidMoves(game);
 
         assertEquals(Sets.newSet(p1.getPosition().upPosition(), p1.getPosition().upPosition().upPosition()), validMoves);
 
         board = new Board(Arrays.asList(ki, p1, p2, p3));
-        game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         validMoves = p1.finallyValidMoves(game);
 
         assertEquals(Sets.newSet(p1.getPosition().upPosition(), p3.getPosition()), validMoves);
@@ -104,7 +205,7 @@ public class ChessGameTest {
         board = new Board(Arrays.asList(ki, kib, p1, pe));
         PieceMove e2e4 = new PieceMove(Position.of(5, 2), Position.of(5,4));
         board = board.applyMoveNoValidate(e2e4);
-        game = new ChessGame(PieceColor.BLACK, Collections.emptyList(), Collections.singletonList(e2e4), board);
+        game = new ChessGame(PieceColor.BLACK, Collections.singletonList(e2e4), board);
         validMoves = pe.validPieceMoves(game);
 
         assertEquals(Sets.newSet(pe.getPosition().diagDownLeftPosition(), pe.getPosition().downPosition()), validMoves);
@@ -123,7 +224,7 @@ public class ChessGameTest {
         Piece q = new Queen(Position.of(4, 8), PieceColor.BLACK);
 
         Board board = new Board(Arrays.asList(r1, r2, king, knight, r));
-        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         Set<Position> validMoves = king.finallyValidMoves(game);
 
         Position kp = king.getPosition();
@@ -132,12 +233,39 @@ public class ChessGameTest {
 
         board = new Board(Arrays.asList(r1, r2, king, knight, r, q));
 
-        game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), Collections.emptyList(), board);
+        game = new ChessGame(PieceColor.WHITE, Collections.emptyList(), board);
         validMoves = king.finallyValidMoves(game);
 
         assertEquals(Sets.newSet(kp.rightPosition(), kp.rightPosition().rightPosition()), validMoves);
     }
 
+    @Test
+    void testGameFromPositionState() {
+        Piece king = new King(Position.of("E1"), PieceColor.WHITE);
+        Piece r1 = new Rock(Position.of("A1"), PieceColor.WHITE);
+        Piece r2 = new Rock(Position.of("H1"), PieceColor.WHITE);
+        Piece pawn = new Pawn(Position.of("E5"), PieceColor.WHITE);
+        Piece blackKing = new King(Position.of("E8"), PieceColor.BLACK);
+        Piece blackPawn = new Pawn(Position.of("D5"), PieceColor.BLACK);
+        Board board = new Board(Arrays.asList(king, r1, r2, pawn, blackKing, blackPawn));
+
+        ChessGame game = ChessGame.of(board, PieceColor.WHITE,
+                CastlingRights.WHITE_KING_SIDE, Position.of("D6").getSquare(), 7);
+
+        assertTrue(game.getPreviousMoves().isEmpty());
+        assertEquals(7, game.getHalfmoveClock());
+        assertEquals(Sets.newSet(Position.of("E6"), Position.of("D6")), pawn.finallyValidMoves(game));
+        assertTrue(king.finallyValidMoves(game).contains(Position.of("G1")));
+        assertFalse(king.finallyValidMoves(game).contains(Position.of("C1")));
+        assertTrue(king.validPieceMoves(game).contains(Position.of("G1")));
+        assertFalse(king.validPieceMoves(game).contains(Position.of("C1")));
+
+        ChessGame withoutEnPassant = ChessGame.of(board, PieceColor.WHITE,
+                CastlingRights.WHITE_KING_SIDE, Position.of("F6").getSquare(), 7);
+        assertEquals(-1, withoutEnPassant.getEnPassantSquare());
+        assertEquals(Sets.newSet(Position.of("E6")), pawn.finallyValidMoves(withoutEnPassant));
+    }
+
     public static Stream<PieceMove> movesFromString(String moves) {
         return Arrays.stream(moves.split("\\s+"))
                 .map(s -> {
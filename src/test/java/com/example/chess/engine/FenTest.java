@@ -0,0 +1,83 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.CastlingRights;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FenTest {
+
+    @Test
+    void testStartPosition() {
+        ChessGame start = ChessGame.start();
+        ChessGame parsed = Fen.parse(Fen.START);
+
+        assertEquals(Fen.START, Fen.format(start));
+        assertEquals(start.getHash(), parsed.getHash());
+        assertEquals(start.getBoard(), parsed.getBoard());
+        assertEquals(CastlingRights.ALL, parsed.getCastlingRights());
+        assertEquals(1, parsed.getFullmoveNumber());
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (Perft.Entry entry : Perft.standardSuite()) {
+            assertEquals(entry.getFen(), Fen.format(Fen.parse(entry.getFen())));
+        }
+        String fen = "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3";
+        ChessGame game = Fen.parse(fen);
+        assertEquals(Position.of("F6").getSquare(), game.getEnPassantSquare());
+        assertEquals(fen, Fen.format(game));
+    }
+
+    @Test
+    void testClocksFollowMoves() {
+        ChessGame game = ChessGame.start();
+        for (PieceMove move : ChessGameTest.movesFromString("E2E4 C7C5 G1F3").collect(Collectors.toList())) {
+            game = game.applyMove(move);
+        }
+
+        String fen = Fen.format(game);
+        assertEquals("rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2", fen);
+        assertEquals(game.getHash(), Fen.parse(fen).getHash());
+    }
+
+    @Test
+    void testOptionalClocksAndUnusableRights() {
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/8/4K2R b KQkq -");
+
+        assertEquals(PieceColor.BLACK, game.getCurrentPlayer());
+        assertEquals(CastlingRights.WHITE_KING_SIDE, game.getCastlingRights());
+        assertEquals(0, game.getHalfmoveClock());
+        assertEquals("4k3/8/8/8/8/8/8/4K2R b K - 0 1", Fen.format(game));
+    }
+
+    @Test
+    void testInvalid() {
+        String[] invalid = {
+                "",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNRR w KQkq - 0 1",
+                "rnbqkbnx/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - a 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 extra",
+                "rnbq1bnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "4k3/8/8/8/8/8/8/P3K3 w - - 0 1",
+                "4k2R/8/8/8/8/8/8/4K3 w - - 0 1"
+        };
+        for (String fen : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> Fen.parse(fen), fen);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse(null));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.*;
+import com.example.chess.engine.models.piece.*;
+import com.example.chess.exceptions.InvalidMoveException;
+import org.junit.jupiter.api.Test;
+import org.mockito.internal.util.collections.Sets;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+
+    @Test
+    void testPinnedPieceMovesAlongPin() {
+        Piece king = new King(Position.of("E1"), PieceColor.WHITE);
+        Piece rock = new Rock(Position.of("E4"), PieceColor.WHITE);
+        Piece knight = new Knight(Position.of("D2"), PieceColor.WHITE);
+        Piece enemyRock = new Rock(Position.of("E8"), PieceColor.BLACK);
+        Piece enemyBishop = new Bishop(Position.of("A5"), PieceColor.BLACK);
+
+        ChessGame game = game(PieceColor.WHITE, king, rock, knight, enemyRock, enemyBishop);
+
+        assertEquals(positions("E2", "E3", "E5", "E6", "E7", "E8"), rock.finallyValidMoves(game));
+        assertTrue(knight.finallyValidMoves(game).isEmpty());
+    }
+
+    @Test
+    void testDoubleCheckAllowsOnlyKingMoves() {
+        Piece king = new King(Position.of("E1"), PieceColor.WHITE);
+        Piece queen = new Queen(Position.of("A1"), PieceColor.WHITE);
+        Piece enemyRock = new Rock(Position.of("E8"), PieceColor.BLACK);
+        Piece enemyKnight = new Knight(Position.of("D3"), PieceColor.BLACK);
+
+        ChessGame game = game(PieceColor.WHITE, king, queen, enemyRock, enemyKnight);
+
+        assertTrue(queen.finallyValidMoves(game).isEmpty());
+        assertEquals(positions("D1", "D2", "F1"), king.finallyValidMoves(game));
+    }
+
+    @Test
+    void testKingCannotStepAlongCheckingRay() {
+        Piece king = new King(Position.of("E4"), PieceColor.WHITE);
+        Piece enemyRock = new Rock(Position.of("A4"), PieceColor.BLACK);
+
+        ChessGame game = game(PieceColor.WHITE, king, enemyRock);
+
+        assertFalse(king.finallyValidMoves(game).contains(Position.of("F4")));
+    }
+
+    @Test
+    void testEnPassantExposingKingIsIllegal() {
+        Piece king = new King(Position.of("A5"), PieceColor.WHITE);
+        Piece pawn = new Pawn(Position.of("E5"), PieceColor.WHITE);
+        Piece enemyPawn = new Pawn(Position.of("D7"), PieceColor.BLACK);
+        Piece enemyRock = new Rock(Position.of("H5"), PieceColor.BLACK);
+
+        PieceMove d7d5 = new PieceMove(Position.of("D7"), Position.of("D5"));
+        Board board = new Board(Arrays.asList(king, pawn, enemyPawn, enemyRock)).applyMoveNoValidate(d7d5);
+        ChessGame game = new ChessGame(PieceColor.WHITE, Collections.singletonList(d7d5), board);
+
+        assertEquals(positions("E6"), pawn.finallyValidMoves(game));
+    }
+
+    @Test
+    void testNoCastlingOutOfCheck() {
+        Piece king = new King(Position.of("E1"), PieceColor.WHITE);
+        Piece rock = new Rock(Position.of("H1"), PieceColor.WHITE);
+        Piece enemyRock = new Rock(Position.of("E8"), PieceColor.BLACK);
+
+        ChessGame game = game(PieceColor.WHITE, king, rock, enemyRock);
+
+        assertFalse(king.finallyValidMoves(game).contains(Position.of("G1")));
+    }
+
+    @Test
+    void testOpponentPiecesHaveNoMoves() {
+        ChessGame game = ChessGame.start();
+
+        assertTrue(game.at(Position.of("E7")).orElseThrow().finallyValidMoves(game).isEmpty());
+    }
+
+    @Test
+    void testMoveListMatchesLegalTargets() {
+        Random random = new Random(11);
+        MoveList moves = new MoveList();
+        for (int gameNumber = 0; gameNumber < 20; gameNumber++) {
+            ChessGame game = ChessGame.start();
+            for (int ply = 0; ply < 120 && !game.isFinished(); ply++) {
+                game.legalMoves(moves);
+
+                Set<Integer> fromList = new HashSet<>();
+                for (int i = 0; i < moves.size(); i++) {
+                    assertEquals(moves.get(i), Move.of(game.getBoard(), Move.toPieceMove(moves.get(i))));
+                    fromList.add(moves.get(i));
+                }
+                ChessGame current = game;
+                Set<Integer> fromTargets = game.getValidMovesForCurrentPlayer().entrySet().stream()
+                        .flatMap(e -> e.getValue().stream().flatMap(to -> expand(current, e.getKey(), to)))
+                        .map(m -> Move.of(current.getBoard(), m))
+                        .collect(Collectors.toSet());
+                assertEquals(fromTargets, fromList);
+
+                int move = moves.get(random.nextInt(moves.size()));
+                ChessGame byPieceMove = game.applyMove(Move.toPieceMove(move));
+                game = game.applyMove(move);
+                assertEquals(byPieceMove.getHash(), game.getHash());
+                assertEquals(byPieceMove.getHalfmoveClock(), game.getHalfmoveClock());
+            }
+        }
+    }
+
+    @Test
+    void testMoveListFlags() {
+        Piece king = new King(Position.of("E1"), PieceColor.WHITE);
+        Piece rock = new Rock(Position.of("H1"), PieceColor.WHITE);
+        Piece pawn = new Pawn(Position.of("B7"), PieceColor.WHITE);
+        Piece enemyKing = new King(Position.of("H8"), PieceColor.BLACK);
+        Piece enemyKnight = new Knight(Position.of("A8"), PieceColor.BLACK);
+
+        MoveList moves = game(PieceColor.WHITE, king, rock, pawn, enemyKing, enemyKnight).legalMoves(new MoveList());
+
+        int b7 = Position.of("B7").getSquare();
+        int b8 = Position.of("B8").getSquare();
+        int a8 = Position.of("A8").getSquare();
+        assertTrue(moves.contains(Move.of(Position.of("E1").getSquare(), Position.of("G1").getSquare(), Move.KING_CASTLE)));
+        assertTrue(moves.contains(Move.promotion(b7, b8, Type.KNIGHT, false)));
+        assertTrue(moves.contains(Move.promotion(b7, a8, Type.QUEEN, true)));
+        assertTrue(Move.isCapture(Move.promotion(b7, a8, Type.QUEEN, true)));
+        assertEquals(Type.QUEEN, Move.promotion(Move.promotion(b7, a8, Type.QUEEN, true)));
+        assertEquals("B7A8Q", Move.toString(Move.promotion(b7, a8, Type.QUEEN, true)));
+        assertFalse(moves.contains(Move.of(b7, b8, Move.QUIET)));
+        assertThrows(InvalidMoveException.class, () -> ChessGame.start().applyMove(Move.of(b7, b8, Move.QUIET)));
+    }
+
+    private Stream<PieceMove> expand(ChessGame game, Position from, Position to) {
+        boolean promotion = game.at(from).orElseThrow().getPieceType() == Type.PAWN
+                && (to.getY() == 1 || to.getY() == 8);
+        if (!promotion) {
+            return Stream.of(new PieceMove(from, to));
+        }
+        return Stream.of(Type.QUEEN, Type.ROCK, Type.BISHOP, Type.KNIGHT).map(type -> new PieceMove(from, to, type));
+    }
+
+    private ChessGame game(PieceColor currentPlayer, Piece... pieces) {
+        return new ChessGame(currentPlayer, Collections.emptyList(), new Board(Arrays.asList(pieces)));
+    }
+
+    private Set<Position> positions(String... positions) {
+        return Sets.newSet(Arrays.stream(positions).map(Position::of).toArray(Position[]::new));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.chess.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+    private static final long MAX_NODES = Long.getLong("perft.maxNodes", 200_000);
+
+    @Test
+    void testStandardSuite() throws IOException {
+        for (Perft.Entry entry : Perft.standardSuite()) {
+            ChessGame game = Fen.parse(entry.getFen());
+            for (int depth = 1; depth <= entry.maxDepth() && entry.expected(depth) <= MAX_NODES; depth++) {
+                assertEquals(entry.expected(depth), Perft.perft(game, depth), entry.getFen() + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void testDivide() {
+        ChessGame game = ChessGame.start();
+        Map<String, Long> divide = Perft.divide(game, 3);
+
+        assertEquals(20, divide.size());
+        assertEquals(600, divide.get("E2E4"));
+        assertEquals(440, divide.get("B1C3"));
+        assertEquals(8902, divide.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testFenMatchesStartPosition() {
+        ChessGame parsed = Fen.parse(Fen.START);
+        ChessGame start = ChessGame.start();
+
+        assertEquals(start.getHash(), parsed.getHash());
+        assertEquals(start.getBoard(), parsed.getBoard());
+        assertEquals(start.getCastlingRights(), parsed.getCastlingRights());
+    }
+}
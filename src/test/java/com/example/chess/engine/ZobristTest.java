@@ -0,0 +1,61 @@
+package com.example.chess.engine;
+
+import com.example.chess.engine.models.Board;
+import com.example.chess.engine.models.PieceMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristTest {
+
+    @Test
+    void testIncrementalBoardHashMatchesRebuild() {
+        Random random = new Random(3);
+        for (int gameNumber = 0; gameNumber < 20; gameNumber++) {
+            ChessGame game = ChessGame.start();
+            for (int ply = 0; ply < 100 && !game.isFinished(); ply++) {
+                List<PieceMove> moves = game.getValidMovesForCurrentPlayer().entrySet().stream()
+                        .flatMap(e -> e.getValue().stream().map(to -> new PieceMove(e.getKey(), to)))
+                        .sorted(Comparator.comparing((PieceMove m) -> m.getFrom().getSquare() * 64 + m.getTo().getSquare()))
+                        .collect(Collectors.toList());
+                game = game.applyMove(moves.get(random.nextInt(moves.size())));
+
+                Board rebuilt = new Board(game.getBoard().pieces());
+                assertEquals(rebuilt.getHash(), game.getBoard().getHash());
+                assertEquals(rebuilt, game.getBoard());
+                assertEquals(rebuilt.hashCode(), game.getBoard().hashCode());
+            }
+        }
+    }
+
+    @Test
+    void testTranspositionsShareHash() {
+        ChessGame first = play("G1F3 G8F6 B1C3 B8C6");
+        ChessGame second = play("B1C3 B8C6 G1F3 G8F6");
+
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(first.getBoard(), second.getBoard());
+    }
+
+    @Test
+    void testHashCoversSideCastlingAndEnPassant() {
+        ChessGame start = ChessGame.start();
+
+        assertEquals(start.getHash(), play("G1F3 G8F6 F3G1 F6G8").getHash());
+        assertNotEquals(start.getHash(), play("G1F3 G8F6 F3G1").getHash());
+        assertNotEquals(play("E2E4 E7E6 E1E2 E8E7 E2E1 E7E8").getHash(), play("E2E4 E7E6").getHash());
+        assertEquals(play("E2E4 E7E6 E1E2 E8E7 E2E1 E7E8").getBoard(), play("E2E4 E7E6").getBoard());
+        assertNotEquals(play("E2E4 G8F6 E4E5 D7D5").getHash(), play("E2E4 D7D5 E4E5 G8F6").getHash());
+    }
+
+    private ChessGame play(String moves) {
+        ChessGame game = ChessGame.start();
+        for (PieceMove move : ChessGameTest.movesFromString(moves).collect(Collectors.toList())) {
+            game = game.applyMove(move);
+        }
+        return game;
+    }
+}
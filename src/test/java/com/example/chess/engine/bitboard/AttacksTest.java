@@ -0,0 +1,47 @@
+package com.example.chess.engine.bitboard;
+
+import com.example.chess.engine.models.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AttacksTest {
+
+    @Test
+    void testSlidersMatchRays() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            long occupancy = random.nextLong() & random.nextLong();
+            for (int square = 0; square < 64; square++) {
+                Position position = Position.ofSquare(square);
+                assertEquals(walk(position.rock(), occupancy), Attacks.rock(square, occupancy));
+                assertEquals(walk(position.bishop(), occupancy), Attacks.bishop(square, occupancy));
+                assertEquals(walk(position.queen(), occupancy), Attacks.queen(square, occupancy));
+            }
+        }
+    }
+
+    @Test
+    void testEmptyBoard() {
+        assertEquals(14, Long.bitCount(Attacks.rock(Position.of(5, 5).getSquare(), 0)));
+        assertEquals(7, Long.bitCount(Attacks.bishop(Position.of(1, 1).getSquare(), 0)));
+        assertEquals(27, Long.bitCount(Attacks.queen(Position.of(4, 4).getSquare(), 0)));
+    }
+
+    private long walk(List<Stream<Position>> rays, long occupancy) {
+        long attacks = 0;
+        for (Stream<Position> ray : rays) {
+            for (Position to : (Iterable<Position>) ray::iterator) {
+                attacks |= Bitboards.bit(to.getSquare());
+                if (Bitboards.contains(occupancy, to.getSquare())) {
+                    break;
+                }
+            }
+        }
+        return attacks;
+    }
+}
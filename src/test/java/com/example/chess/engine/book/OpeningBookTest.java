@@ -0,0 +1,96 @@
+package com.example.chess.engine.book;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import com.example.chess.engine.models.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+    @TempDir
+    Path dir;
+
+    private OpeningBook book() throws IOException {
+        Path path = dir.resolve("book.bin");
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_PLY);
+        try (InputStreamReader reader = new InputStreamReader(
+                Objects.requireNonNull(getClass().getResourceAsStream("/book/openings.txt")), StandardCharsets.UTF_8)) {
+            builder.addLines(reader);
+        }
+        builder.write(path);
+        return OpeningBook.open(path);
+    }
+
+    @Test
+    void testMostPlayedMove() throws IOException {
+        OpeningBook book = book();
+
+        assertFalse(book.isEmpty());
+        assertEquals("E2E4", Move.toString(book.bestMove(ChessGame.start())));
+
+        ChessGame sicilian = ChessGame.start().applyMove(book.bestMove(ChessGame.start()));
+        int reply = book.bestMove(sicilian);
+        assertTrue(sicilian.legalMoves(new MoveList()).contains(reply));
+    }
+
+    @Test
+    void testRandomMovesAreLegalBookMoves() throws IOException {
+        OpeningBook book = book();
+        SplittableRandom random = new SplittableRandom(1);
+
+        ChessGame game = ChessGame.start();
+        for (int ply = 0; ply < 8; ply++) {
+            int move = book.move(game, random);
+            assertNotEquals(Move.NONE, move, "ply " + ply);
+            game = game.applyMove(move);
+        }
+    }
+
+    @Test
+    void testRandomMoveSkipsIllegalEntries() throws IOException {
+        long hash = ChessGame.start().getHash();
+        int illegal = Move.of(Position.of("E2").getSquare(), Position.of("E5").getSquare(), Move.QUIET);
+        int legal = Move.of(Position.of("E2").getSquare(), Position.of("E4").getSquare(), Move.DOUBLE_PUSH);
+        ByteBuffer entries = ByteBuffer.allocate(2 * OpeningBook.ENTRY_BYTES);
+        entries.putLong(hash).putShort((short) illegal).putShort((short) 0xFFFF).putInt(0);
+        entries.putLong(hash).putShort((short) legal).putShort((short) 1).putInt(0);
+        OpeningBook book = OpeningBook.open(Files.write(dir.resolve("stale.bin"), entries.array()));
+
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(legal, book.move(ChessGame.start(), random));
+        }
+    }
+
+    @Test
+    void testPositionOutOfBook() throws IOException {
+        OpeningBook book = book();
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+
+        assertEquals(Move.NONE, book.bestMove(game));
+        assertEquals(Move.NONE, book.move(game, new SplittableRandom(1)));
+        assertEquals(Move.NONE, OpeningBook.empty().bestMove(ChessGame.start()));
+    }
+
+    @Test
+    void testRejectsIllegalLineAndBrokenFile() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        assertThrows(IllegalArgumentException.class, () -> builder.addLine("E2E4 E2E4"));
+
+        Path broken = Files.write(dir.resolve("broken.bin"), new byte[17]);
+        assertThrows(IOException.class, () -> OpeningBook.open(broken));
+    }
+}
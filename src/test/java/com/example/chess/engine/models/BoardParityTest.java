@@ -0,0 +1,116 @@
+package com.example.chess.engine.models;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.piece.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardParityTest {
+    private static final Type[] PROMOTIONS = {Type.QUEEN, Type.ROCK, Type.BISHOP, Type.KNIGHT};
+
+    @Test
+    void testStartBoard() {
+        assertSameBoard(MapBoard.startBoard(), Board.startBoard());
+    }
+
+    @Test
+    void testCollectionConstructor() {
+        List<Piece> pieces = Arrays.asList(
+                new King(Position.of(2, 2), PieceColor.WHITE),
+                new Knight(Position.of(4, 3), PieceColor.BLACK),
+                new Queen(Position.of(8, 8), PieceColor.BLACK),
+                new King(Position.of(6, 6), PieceColor.BLACK),
+                new Pawn(Position.of(5, 7), PieceColor.WHITE));
+
+        assertSameBoard(new MapBoard(pieces), new Board(pieces));
+    }
+
+    @Test
+    void testSpecialMoves() {
+        List<Piece> pieces = Arrays.asList(
+                new King(Position.of(5, 1), PieceColor.WHITE),
+                new Rock(Position.of(1, 1), PieceColor.WHITE),
+                new Rock(Position.of(8, 1), PieceColor.WHITE),
+                new Pawn(Position.of(5, 5), PieceColor.WHITE),
+                new Pawn(Position.of(2, 7), PieceColor.WHITE),
+                new Pawn(Position.of(4, 5), PieceColor.BLACK),
+                new King(Position.of(5, 8), PieceColor.BLACK));
+
+        for (PieceMove move : Arrays.asList(
+                new PieceMove(Position.of(5, 1), Position.of(7, 1)),
+                new PieceMove(Position.of(5, 1), Position.of(3, 1)),
+                new PieceMove(Position.of(5, 5), Position.of(4, 6)),
+                new PieceMove(Position.of(2, 7), Position.of(2, 8), Type.KNIGHT))) {
+            assertSameBoard(new MapBoard(pieces).applyMoveNoValidate(move), new Board(pieces).applyMoveNoValidate(move));
+        }
+    }
+
+    @Test
+    void testRandomGames() {
+        Random random = new Random(42);
+
+        for (int gameNumber = 0; gameNumber < 20; gameNumber++) {
+            ChessGame game = ChessGame.start();
+            MapBoard reference = MapBoard.startBoard();
+
+            for (int ply = 0; ply < 120 && !game.isFinished(); ply++) {
+                PieceMove move = randomMove(game, random);
+
+                Board before = game.getBoard();
+                game = game.applyMove(move);
+                reference = reference.applyMoveNoValidate(move);
+
+                assertSameBoard(reference, game.getBoard());
+                assertNotSame(before, game.getBoard());
+            }
+        }
+    }
+
+    private PieceMove randomMove(ChessGame game, Random random) {
+        List<PieceMove> moves = game.getValidMovesForCurrentPlayer().entrySet().stream()
+                .flatMap(e -> e.getValue().stream().map(to -> new PieceMove(e.getKey(), to)))
+                .sorted(Comparator.comparing((PieceMove m) -> m.getFrom().toString())
+                        .thenComparing(m -> m.getTo().toString()))
+                .collect(Collectors.toList());
+        PieceMove move = moves.get(random.nextInt(moves.size()));
+
+        boolean promotion = game.at(move.getFrom()).orElseThrow().getPieceType() == Type.PAWN
+                && (move.getTo().getY() == 1 || move.getTo().getY() == 8);
+        return promotion
+                ? new PieceMove(move.getFrom(), move.getTo(), PROMOTIONS[random.nextInt(PROMOTIONS.length)])
+                : move;
+    }
+
+    private void assertSameBoard(MapBoard expected, Board actual) {
+        for (int x = 1; x <= 8; x++) {
+            for (int y = 1; y <= 8; y++) {
+                Position position = Position.of(x, y);
+                assertEquals(describe(expected.at(position)), describe(actual.at(position)), position.toString());
+            }
+        }
+
+        for (PieceColor color : PieceColor.values()) {
+            assertEquals(describe(expected.pieces(color)), describe(actual.pieces(color)));
+            assertEquals(describe(expected.pieceMap(color).values()), describe(actual.pieceMap(color).values()));
+            assertEquals(expected.pieceMap(color).keySet(), actual.pieceMap(color).keySet());
+            assertEquals(expected.king(color), actual.king(color));
+        }
+        assertEquals(describe(expected.pieces()), describe(actual.pieces()));
+    }
+
+    private Set<String> describe(Collection<Piece> pieces) {
+        return pieces.stream().map(this::describe).collect(Collectors.toSet());
+    }
+
+    private String describe(Optional<Piece> piece) {
+        return piece.map(this::describe).orElse("-");
+    }
+
+    private String describe(Piece piece) {
+        return piece.getPieceColor() + " " + piece.getPieceType() + " " + piece.getPosition();
+    }
+}
@@ -8,8 +8,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class PositionTest {
 
@@ -39,6 +38,21 @@ public class PositionTest {
         }
     }
 
+    @Test
+    void testInterned() {
+        assertSame(Position.of(5, 4), Position.of("e4"));
+        assertSame(Position.of("E4"), Position.ofSquare(Position.of(5, 4).getSquare()));
+        assertSame(Position.of(5, 5), Position.of(5, 4).upPosition());
+        assertSame(Position.of(1, 1).knight(), Position.of(1, 1).knight());
+    }
+
+    @Test
+    void testParseInvalid() {
+        for (String s : new String[] {"", "E", "E9", "I1", "E0", "E44", "1E", "e-"}) {
+            assertThrows(IllegalArgumentException.class, () -> Position.of(s), s);
+        }
+    }
+
     @Test
     void testTricky() {
         assertEquals(8, tricky(5, 5).size());
@@ -0,0 +1,53 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchTest {
+    private final ExecutorService helpers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        helpers.shutdownNow();
+    }
+
+    @Test
+    void testFindsMateWithHelpers() {
+        ChessGame game = Fen.parse("k7/8/2K5/8/8/8/8/7R w - - 0 1");
+
+        SearchResult result = new ParallelSearch(new TranspositionTable(4), 4, helpers)
+                .search(game, SearchLimits.depth(6));
+
+        assertEquals(Search.MATE - 3, result.getScore());
+    }
+
+    @Test
+    void testHelpersStopWithMainThread() {
+        ChessGame game = ChessGame.start();
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 3, helpers);
+
+        SearchResult result = search.search(game, SearchLimits.time(200));
+
+        assertTrue(result.getTimeMillis() < 1_000, result.toString());
+        assertTrue(result.getDepth() >= 2, result.toString());
+        assertTrue(game.legalMoves(new MoveList()).contains(result.getBestMove()));
+
+        SearchResult again = search.search(game, SearchLimits.depth(3));
+        assertTrue(again.getDepth() >= 3, again.toString());
+        assertNotEquals(Move.NONE, again.getBestMove());
+    }
+
+    @Test
+    void testRejectsNoThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(new TranspositionTable(1), 0, helpers));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.GameStatus;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.models.MoveList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchTest {
+
+    @Test
+    void testFindsMateInOne() {
+        ChessGame game = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(3));
+
+        assertEquals("A1A8", Move.toString(result.getBestMove()));
+        assertEquals(Search.MATE - 1, result.getScore());
+        assertTrue(result.isMate());
+        assertEquals(GameStatus.CHECKMATE, game.applyMove(result.getBestMove()).getStatus());
+    }
+
+    @Test
+    void testFindsMateInTwo() {
+        ChessGame game = Fen.parse("k7/8/2K5/8/8/8/8/7R w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(5));
+
+        assertEquals(Search.MATE - 3, result.getScore());
+    }
+
+    @Test
+    void testPrincipalVariationIsPlayable() {
+        ChessGame game = Fen.parse("k7/8/2K5/8/8/8/8/7R w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(5));
+
+        int[] pv = result.getPv();
+        assertEquals(3, pv.length, result.toString());
+        assertEquals(result.getBestMove(), pv[0]);
+        for (int move : pv) {
+            game = game.applyMove(move);
+        }
+        assertEquals(GameStatus.CHECKMATE, game.getStatus());
+        assertEquals(2, result.mateIn());
+    }
+
+    @Test
+    void testWinsHangingQueen() {
+        ChessGame game = Fen.parse("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(2));
+
+        assertEquals("D2D5", Move.toString(result.getBestMove()));
+        assertTrue(result.getScore() > 300);
+    }
+
+    @Test
+    void testQuiescenceSeesRecapture() {
+        ChessGame game = Fen.parse("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(1));
+
+        assertNotEquals("D2D5", Move.toString(result.getBestMove()));
+    }
+
+    @Test
+    void testAvoidsStalemate() {
+        ChessGame game = Fen.parse("7k/8/5K2/6Q1/8/8/8/8 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(3));
+
+        assertNotEquals(GameStatus.DRAW_STALEMATE, game.applyMove(result.getBestMove()).getStatus());
+        assertTrue(result.isMate());
+    }
+
+    @Test
+    void testRespectsBudgets() {
+        ChessGame game = ChessGame.start();
+        MoveList legal = game.legalMoves(new MoveList());
+
+        SearchResult byNodes = new Search().search(game, SearchLimits.builder().nodes(5_000).build());
+        assertTrue(byNodes.getNodes() <= 5_000);
+        assertTrue(legal.contains(byNodes.getBestMove()));
+
+        SearchResult byTime = new Search().search(game, SearchLimits.time(200));
+        assertTrue(byTime.getTimeMillis() < 1_000, byTime.toString());
+        assertTrue(byTime.getDepth() >= 2, byTime.toString());
+        assertTrue(legal.contains(byTime.getBestMove()));
+    }
+
+    @Test
+    void testStopBeforeSearchIsNotLost() {
+        ChessGame game = ChessGame.start();
+        Search search = new Search();
+
+        search.stop();
+        SearchResult stopped = search.search(game, SearchLimits.time(10_000));
+        assertEquals(0, stopped.getDepth());
+        assertTrue(game.legalMoves(new MoveList()).contains(stopped.getBestMove()));
+
+        assertEquals(2, search.search(game, SearchLimits.depth(2)).getDepth());
+    }
+
+    @Test
+    void testNoMovesInFinishedPosition() {
+        ChessGame mated = Fen.parse("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+
+        assertFalse(new Search().search(mated, SearchLimits.depth(3)).hasMove());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.chess.engine.search;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.models.Move;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+    private static final long HASH = 0x9D39247E33776D41L;
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.of(12, 28, Move.DOUBLE_PUSH);
+
+        assertEquals(0, table.probe(HASH));
+        table.store(HASH, move, -125, 7, TranspositionTable.LOWER, 3);
+
+        long entry = table.probe(HASH);
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(-125, TranspositionTable.score(entry, 3));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+        assertEquals(1, table.getStores());
+    }
+
+    @Test
+    void testMateScoresAreRelativeToPly() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, Move.NONE, Search.MATE - 5, 4, TranspositionTable.EXACT, 2);
+
+        assertEquals(Search.MATE - 3, TranspositionTable.score(table.probe(HASH), 0));
+        assertEquals(Search.MATE - 9, TranspositionTable.score(table.probe(HASH), 6));
+    }
+
+    @Test
+    void testRejectsOtherKeysInSameBucket() {
+        TranspositionTable table = new TranspositionTable(1);
+        long sameBucket = HASH ^ 1L << 60;
+        table.store(HASH, Move.NONE, 10, 3, TranspositionTable.EXACT, 0);
+
+        assertEquals(0, table.probe(sameBucket));
+    }
+
+    @Test
+    void testReplacementKeepsDeeperEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        long second = HASH ^ 1L << 60;
+        long third = HASH ^ 1L << 61;
+
+        table.store(HASH, Move.NONE, 10, 9, TranspositionTable.EXACT, 0);
+        table.store(second, Move.NONE, 20, 2, TranspositionTable.EXACT, 0);
+        table.store(third, Move.NONE, 30, 1, TranspositionTable.EXACT, 0);
+
+        assertEquals(9, TranspositionTable.depth(table.probe(HASH)));
+        assertEquals(0, table.probe(second));
+        assertEquals(1, TranspositionTable.depth(table.probe(third)));
+    }
+
+    @Test
+    void testKeepsHashMoveOnUpperBoundStore() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.of(6, 21, Move.QUIET);
+        table.store(HASH, move, 50, 4, TranspositionTable.EXACT, 0);
+        table.store(HASH, Move.NONE, -20, 5, TranspositionTable.UPPER, 0);
+
+        long entry = table.probe(HASH);
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(entry));
+    }
+
+    @Test
+    void testSearchWithTableFindsSameMateWithFewerNodes() {
+        ChessGame game = Fen.parse("k7/8/2K5/8/8/8/8/7R w - - 0 1");
+
+        SearchResult plain = new Search().search(game, SearchLimits.depth(5));
+        SearchResult hashed = new Search(new TranspositionTable(4)).search(game, SearchLimits.depth(5));
+
+        assertEquals(plain.getScore(), hashed.getScore());
+        assertTrue(hashed.getNodes() < plain.getNodes(), hashed + " vs " + plain);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.chess.engine.tablebase;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.Fen;
+import com.example.chess.engine.GameStatus;
+import com.example.chess.engine.models.Move;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablebaseTest {
+    private static final TablebaseGenerator generator = new TablebaseGenerator(Tablebase.empty());
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void generate() {
+        generator.generateAll(3);
+    }
+
+    private static int longestWin(String material) {
+        byte[] values = generator.generate(material);
+        int longest = -1;
+        for (byte value : values) {
+            int plies = (value & 0xFF) - 1;
+            if (value != Tablebase.ILLEGAL && plies % 2 == 1) {
+                longest = Math.max(longest, plies);
+            }
+        }
+        return longest;
+    }
+
+    @Test
+    void testMaterials() {
+        assertEquals(List.of("KQvK", "KRvK", "KBvK", "KNvK"), TablebaseGenerator.materials(3));
+        List<String> materials = TablebaseGenerator.materials(4);
+        assertTrue(materials.containsAll(List.of("KQRvK", "KNNvK", "KQvKR", "KRvKR")));
+        assertFalse(materials.contains("KRvKQ"));
+        assertEquals(24, materials.size());
+    }
+
+    @Test
+    void testKnownDistancesToMate() {
+        assertEquals(19, longestWin("KQvK"));
+        assertEquals(31, longestWin("KRvK"));
+        assertEquals(-1, longestWin("KBvK"));
+        assertEquals(-1, longestWin("KNvK"));
+        assertEquals(69, longestWin("KQvKR"));
+    }
+
+    @Test
+    void testProbe() {
+        Tablebase tablebase = generator.getTablebase();
+
+        TablebaseResult mate = tablebase.probe(Fen.parse("k7/8/1K6/8/8/8/8/6Q1 w - - 0 1")).orElseThrow();
+        assertEquals(TablebaseResult.Outcome.WIN, mate.getOutcome());
+        assertEquals(1, mate.getPlies());
+
+        TablebaseResult black = tablebase.probe(Fen.parse("8/8/8/8/8/2k5/7q/K7 b - - 0 1")).orElseThrow();
+        assertEquals(TablebaseResult.Outcome.WIN, black.getOutcome());
+
+        TablebaseResult lost = tablebase.probe(Fen.parse("8/8/8/8/8/2k5/7q/K7 w - - 0 1")).orElseThrow();
+        assertEquals(TablebaseResult.Outcome.LOSS, lost.getOutcome());
+
+        TablebaseResult draw = tablebase.probe(Fen.parse("8/8/8/3k4/8/8/8/KN6 w - - 0 1")).orElseThrow();
+        assertEquals(TablebaseResult.Outcome.DRAW, draw.getOutcome());
+        assertEquals(0, draw.score());
+
+        assertTrue(tablebase.probe(Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1")).isEmpty());
+        assertTrue(tablebase.probe(Fen.parse("4k3/8/8/8/8/8/4P3/4K2R w - - 0 1")).isEmpty());
+        assertTrue(tablebase.probe(ChessGame.start()).isEmpty());
+    }
+
+    @Test
+    void testBestMovesPlayPerfectMate() {
+        Tablebase tablebase = generator.getTablebase();
+        ChessGame game = Fen.parse("8/8/8/3k4/8/8/8/R3K3 w - - 0 1");
+        int plies = tablebase.probe(game).orElseThrow().getPlies();
+
+        for (int ply = 0; ply < plies; ply++) {
+            int move = tablebase.bestMove(game);
+            assertNotEquals(Move.NONE, move, "ply " + ply);
+            game = game.applyMove(move);
+        }
+        assertEquals(GameStatus.CHECKMATE, game.getStatus());
+    }
+
+    @Test
+    void testOpenWrittenTables() throws IOException {
+        Files.write(dir.resolve("KRvK" + Tablebase.EXTENSION), generator.generate("KRvK"));
+        Tablebase tablebase = Tablebase.open(dir);
+
+        assertEquals(1, tablebase.tables());
+        ChessGame game = Fen.parse("8/8/8/3k4/8/8/8/R3K3 b - - 0 1");
+        assertEquals(generator.getTablebase().probe(game), tablebase.probe(game));
+
+        Files.write(dir.resolve("KQvK" + Tablebase.EXTENSION), new byte[17]);
+        assertThrows(IOException.class, () -> Tablebase.open(dir));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.search.Search;
+import com.example.chess.engine.search.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisCacheTest {
+    private static final int MOVE = Move.of(12, 28, Move.DOUBLE_PUSH);
+
+    @Test
+    void testDeeperResultSatisfiesShallowerRequest() {
+        AnalysisCache cache = new AnalysisCache(16);
+        SearchResult deep = new SearchResult(MOVE, 25, 8, 1000, 10);
+        cache.put(1L, deep);
+
+        assertSame(deep, cache.get(1L, 5).orElseThrow());
+        assertSame(deep, cache.get(1L, 8).orElseThrow());
+        assertTrue(cache.get(1L, 9).isEmpty());
+        assertTrue(cache.get(2L, 1).isEmpty());
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testKeepsDeepestResult() {
+        AnalysisCache cache = new AnalysisCache(16);
+        SearchResult deep = new SearchResult(MOVE, 25, 8, 1000, 10);
+        cache.put(1L, deep);
+        cache.put(1L, new SearchResult(MOVE, 30, 4, 100, 1));
+
+        assertSame(deep, cache.get(1L, 4).orElseThrow());
+    }
+
+    @Test
+    void testMateSatisfiesAnyDepth() {
+        AnalysisCache cache = new AnalysisCache(16);
+        cache.put(1L, new SearchResult(MOVE, Search.MATE - 1, 1, 10, 1));
+
+        assertTrue(cache.get(1L, 20).isPresent());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        AnalysisCache cache = new AnalysisCache(2);
+        cache.put(1L, new SearchResult(MOVE, 0, 1, 1, 1));
+        cache.put(2L, new SearchResult(MOVE, 0, 1, 1, 1));
+        cache.get(1L, 1);
+        cache.put(3L, new SearchResult(MOVE, 0, 1, 1, 1));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get(1L, 1).isPresent());
+        assertTrue(cache.get(2L, 1).isEmpty());
+        assertTrue(cache.get(3L, 1).isPresent());
+    }
+}
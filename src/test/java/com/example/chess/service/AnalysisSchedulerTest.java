@@ -0,0 +1,188 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.search.SearchLimits;
+import com.example.chess.engine.search.SearchResult;
+import com.example.chess.engine.search.Searcher;
+import com.example.chess.exceptions.AnalysisRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisSchedulerTest {
+    private static final ChessGame GAME = ChessGame.start();
+    private static final SearchLimits LIMITS = SearchLimits.depth(1);
+
+    private AnalysisScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        scheduler = new AnalysisScheduler(1, 2, 2, 10_000);
+        BlockingSearcher blocker = new BlockingSearcher();
+        CompletableFuture<SearchResult> running = scheduler.submit("a", blocker, GAME, LIMITS);
+        blocker.started.await(5, TimeUnit.SECONDS);
+
+        scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS);
+        scheduler.submit("b", new BlockingSearcher(), GAME, LIMITS);
+        assertThrows(AnalysisRejectedException.class,
+                () -> scheduler.submit("c", new BlockingSearcher(), GAME, LIMITS));
+        assertEquals(2, scheduler.getQueueDepth());
+        assertEquals(1, scheduler.getRejected());
+
+        running.cancel(true);
+    }
+
+    @Test
+    void testLimitsQueuedTasksPerGame() throws Exception {
+        scheduler = new AnalysisScheduler(1, 10, 1, 10_000);
+        BlockingSearcher blocker = new BlockingSearcher();
+        scheduler.submit("a", blocker, GAME, LIMITS);
+        blocker.started.await(5, TimeUnit.SECONDS);
+
+        scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS);
+        assertThrows(AnalysisRejectedException.class,
+                () -> scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS));
+        scheduler.submit("b", new BlockingSearcher(), GAME, LIMITS);
+        scheduler.cancelAll("a");
+        scheduler.cancelAll("b");
+    }
+
+    @Test
+    void testRoundRobinAcrossGames() throws Exception {
+        scheduler = new AnalysisScheduler(1, 10, 10, 10_000);
+        BlockingSearcher blocker = new BlockingSearcher();
+        scheduler.submit("blocker", blocker, GAME, LIMITS);
+        blocker.started.await(5, TimeUnit.SECONDS);
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<?> a1 = scheduler.submit("a", new RecordingSearcher(order, "a1"), GAME, LIMITS);
+        CompletableFuture<?> a2 = scheduler.submit("a", new RecordingSearcher(order, "a2"), GAME, LIMITS);
+        CompletableFuture<?> a3 = scheduler.submit("a", new RecordingSearcher(order, "a3"), GAME, LIMITS);
+        CompletableFuture<?> b1 = scheduler.submit("b", new RecordingSearcher(order, "b1"), GAME, LIMITS);
+        blocker.release.countDown();
+
+        CompletableFuture.allOf(a1, a2, a3, b1).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("a1", "b1", "a2", "a3"), order);
+        assertEquals(5, scheduler.getCompleted());
+    }
+
+    @Test
+    void testCancelStopsRunningAndQueuedSearches() throws Exception {
+        scheduler = new AnalysisScheduler(1, 10, 10, 10_000);
+        BlockingSearcher running = new BlockingSearcher();
+        CompletableFuture<SearchResult> first = scheduler.submit("a", running, GAME, LIMITS);
+        running.started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<SearchResult> second = scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS);
+
+        assertEquals(2, scheduler.cancelAll("a"));
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertTrue(running.stopped);
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(2, scheduler.getCancelled());
+    }
+
+    @Test
+    void testExpiresTasksPastDeadline() throws Exception {
+        scheduler = new AnalysisScheduler(1, 10, 10, 10_000);
+        BlockingSearcher blocker = new BlockingSearcher();
+        scheduler.submit("blocker", blocker, GAME, LIMITS);
+        blocker.started.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<SearchResult> late = scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS, 1);
+        Thread.sleep(20);
+        blocker.release.countDown();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(1, scheduler.getExpired());
+    }
+
+    @Test
+    void testExpiredTasksFreeQueueSlots() throws Exception {
+        scheduler = new AnalysisScheduler(1, 2, 2, 10_000);
+        BlockingSearcher blocker = new BlockingSearcher();
+        scheduler.submit("blocker", blocker, GAME, LIMITS);
+        blocker.started.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<SearchResult> late1 = scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS, 1);
+        CompletableFuture<SearchResult> late2 = scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS, 1);
+        Thread.sleep(20);
+
+        CompletableFuture<SearchResult> fresh = scheduler.submit("a", new BlockingSearcher(), GAME, LIMITS);
+        assertTrue(late1.isCompletedExceptionally());
+        assertTrue(late2.isCompletedExceptionally());
+        assertEquals(2, scheduler.getExpired());
+        assertEquals(1, scheduler.getQueueDepth());
+
+        fresh.cancel(true);
+        blocker.release.countDown();
+    }
+
+    @Test
+    void testPassesRemainingDeadlineAsTimeBudget() throws Exception {
+        scheduler = new AnalysisScheduler(1, 10, 10, 10_000);
+        RecordingSearcher searcher = new RecordingSearcher(new CopyOnWriteArrayList<>(), "a");
+
+        scheduler.submit("a", searcher, GAME, LIMITS, 5_000).get(5, TimeUnit.SECONDS);
+
+        assertTrue(searcher.limits.getTimeMillis() > 0 && searcher.limits.getTimeMillis() <= 5_000);
+        assertEquals(1, searcher.limits.getDepth());
+    }
+
+    private static class BlockingSearcher implements Searcher {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean stopped;
+
+        @Override
+        public SearchResult search(ChessGame root, SearchLimits limits) {
+            started.countDown();
+            try {
+                while (!stopped && !release.await(10, TimeUnit.MILLISECONDS)) {
+                    Thread.onSpinWait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new SearchResult(Move.NONE, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+    }
+
+    private static class RecordingSearcher implements Searcher {
+        private final List<String> order;
+        private final String name;
+        volatile SearchLimits limits;
+
+        RecordingSearcher(List<String> order, String name) {
+            this.order = order;
+            this.name = name;
+        }
+
+        @Override
+        public SearchResult search(ChessGame root, SearchLimits limits) {
+            this.limits = limits;
+            order.add(name);
+            return new SearchResult(Move.NONE, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
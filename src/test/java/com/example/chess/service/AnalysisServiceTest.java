@@ -0,0 +1,104 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.ChessGame;
+import com.example.chess.engine.models.Move;
+import com.example.chess.engine.search.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisServiceTest {
+    private static final int MOVE = Move.of(12, 28, Move.DOUBLE_PUSH);
+
+    private CountingEnginePlayer enginePlayer;
+    private AnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        enginePlayer = new CountingEnginePlayer();
+        service = new AnalysisService(enginePlayer, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enginePlayer.shutdown();
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneSearch() throws Exception {
+        ChessGame game = ChessGame.start();
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<SearchResult>>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    return service.analyze("a", game, 6);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<SearchResult>> analyses = new ArrayList<>();
+            for (Future<CompletableFuture<SearchResult>> call : calls) {
+                analyses.add(call.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, enginePlayer.submitted.get());
+            assertEquals(1, service.getInFlight());
+
+            SearchResult result = new SearchResult(MOVE, 25, 6, 1000, 10);
+            enginePlayer.search.complete(result);
+            for (CompletableFuture<SearchResult> analysis : analyses) {
+                assertSame(result, analysis.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(0, service.getInFlight());
+            assertSame(result, service.analyze("a", game, 6).get());
+            assertEquals(1, enginePlayer.submitted.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSearchIsCancelledOnlyWhenEveryCallerCancels() {
+        ChessGame game = ChessGame.start();
+        CompletableFuture<SearchResult> first = service.analyze("a", game, 6);
+        CompletableFuture<SearchResult> second = service.analyze("b", game, 6);
+        assertEquals(1, enginePlayer.submitted.get());
+
+        first.cancel(true);
+        assertFalse(enginePlayer.search.isCancelled());
+        assertFalse(second.isDone());
+
+        second.cancel(true);
+        assertTrue(enginePlayer.search.isCancelled());
+        assertEquals(0, service.getInFlight());
+
+        service.analyze("a", game, 6);
+        assertEquals(2, enginePlayer.submitted.get());
+    }
+
+    private static class CountingEnginePlayer extends EnginePlayer {
+        final AtomicInteger submitted = new AtomicInteger();
+        volatile CompletableFuture<SearchResult> search;
+
+        CountingEnginePlayer() {
+            super(null, null, null, 1000, 64, 1, 1, 1);
+        }
+
+        @Override
+        public CompletableFuture<SearchResult> analyze(String gameId, ChessGame game, int depth) {
+            submitted.incrementAndGet();
+            search = new CompletableFuture<>();
+            return search;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.chess.service;
+
+import com.example.chess.exceptions.InvalidTokenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameExecutorTest {
+    private GameExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testTasksForOneGameRunInOrderOneAtATime() throws Exception {
+        executor = new GameExecutor(4);
+        List<Integer> executed = new ArrayList<>();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 1000)
+                .mapToObj(i -> executor.submit("a", () -> {
+                    if (active.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    executed.add(i);
+                    active.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, overlaps.get());
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), executed);
+    }
+
+    @Test
+    void testGamesRunIndependently() throws Exception {
+        executor = new GameExecutor(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = executor.submit("a", () -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals("b", executor.submit("b", () -> "b").get(5, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDrainedMailboxesAreRemoved() throws Exception {
+        executor = new GameExecutor(4);
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 1000)
+                .mapToObj(i -> executor.submit("game " + i % 50, () -> i))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.getMailboxes());
+        assertEquals(7, executor.execute("game 7", () -> 7));
+    }
+
+    @Test
+    void testExecuteRethrowsTaskException() {
+        executor = new GameExecutor(1);
+
+        assertThrows(InvalidTokenException.class, () -> executor.execute("a", () -> {
+            throw new InvalidTokenException("Invalid token");
+        }));
+        assertEquals(1, executor.execute("a", () -> 1));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.models.PieceMove;
+import com.example.chess.engine.models.Position;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStreamServiceTest {
+    private GameUpdateRouter router;
+    private GameStreamService streamService;
+    private GameMetadata metadata;
+
+    @BeforeEach
+    void setUp() {
+        router = new GameUpdateRouter(1, 4);
+        streamService = new GameStreamService(router, new ObjectMapper(), 2, 60_000, 60_000, 60_000);
+        metadata = new GameRepositoryImpl().newGame();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+        router.shutdown();
+    }
+
+    @Test
+    void testSpectatorsShareOneSerializedFrame() throws Exception {
+        List<RecordingSink> spectators = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RecordingSink sink = new RecordingSink();
+            streamService.subscribe(metadata, null, sink);
+            spectators.add(sink);
+        }
+        RecordingSink player = new RecordingSink();
+        streamService.subscribe(metadata, metadata.currentPlayerToken(), player);
+        for (RecordingSink sink : spectators) {
+            assertTrue(sink.next().startsWith("event:state\nid:0\ndata:{"));
+        }
+        assertTrue(player.next().contains("\"myTurn\":true"));
+        long serialized = streamService.getSerialized();
+
+        metadata.applyMove(new PieceMove(Position.of("E2"), Position.of("E4")));
+        router.publish(metadata);
+
+        byte[] frame = spectators.get(0).frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame);
+        assertTrue(new String(frame, StandardCharsets.UTF_8).startsWith("event:state\nid:1\n"));
+        for (RecordingSink sink : spectators.subList(1, spectators.size())) {
+            assertSame(frame, sink.frames.poll(5, TimeUnit.SECONDS));
+        }
+        assertTrue(player.next().contains("\"myTurn\":false"));
+        assertEquals(serialized + 2, streamService.getSerialized());
+        assertEquals(3, streamService.getSpectators());
+    }
+
+    @Test
+    void testStaleUpdateDoesNotRewindStream() throws Exception {
+        GameMetadata stale = metadata.snapshot();
+        metadata.applyMove(new PieceMove(Position.of("E2"), Position.of("E4")));
+        RecordingSink sink = new RecordingSink();
+        streamService.subscribe(metadata, null, sink);
+        assertTrue(sink.next().startsWith("event:state\nid:1\n"));
+
+        streamService.publish(stale);
+        streamService.publish(metadata.snapshot());
+        assertNull(sink.frames.poll(200, TimeUnit.MILLISECONDS));
+
+        metadata.applyMove(new PieceMove(Position.of("E7"), Position.of("E5")));
+        streamService.publish(metadata.snapshot());
+        assertTrue(sink.next().startsWith("event:state\nid:2\n"));
+    }
+
+    @Test
+    void testFailedSinkIsRemoved() throws Exception {
+        RecordingSink healthy = new RecordingSink();
+        RecordingSink broken = new RecordingSink();
+        broken.failing = true;
+        streamService.subscribe(metadata, null, healthy);
+        GameStreamService.Subscription subscription = streamService.subscribe(metadata, null, broken);
+        healthy.next();
+
+        assertTrue(broken.closed.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, streamService.getStreams());
+        assertEquals(1, streamService.getSpectators());
+
+        subscription.cancel();
+        assertEquals(1, streamService.getSpectators());
+    }
+
+    @Test
+    void testStalledSinkIsDroppedAndFreesSender() throws Exception {
+        GameStreamService slowService = new GameStreamService(router, new ObjectMapper(), 1, 60_000, 60_000, 100);
+        try {
+            RecordingSink stalled = new RecordingSink();
+            stalled.stalled = true;
+            slowService.subscribe(metadata, null, stalled);
+            RecordingSink healthy = new RecordingSink();
+            slowService.subscribe(metadata, null, healthy);
+
+            assertTrue(healthy.next().startsWith("event:state\nid:0\n"));
+            assertNotNull(stalled.aborted.poll(5, TimeUnit.SECONDS));
+            assertEquals(1, slowService.getSlowDropped());
+            assertEquals(1, slowService.getSpectators());
+        } finally {
+            slowService.shutdown();
+        }
+    }
+
+    @Test
+    void testSinkIgnoringInterruptsIsAborted() throws Exception {
+        GameStreamService slowService = new GameStreamService(router, new ObjectMapper(), 1, 60_000, 60_000, 100);
+        try {
+            RecordingSink stuck = new RecordingSink();
+            stuck.stuck = true;
+            slowService.subscribe(metadata, null, stuck);
+            RecordingSink healthy = new RecordingSink();
+            slowService.subscribe(metadata, null, healthy);
+
+            assertTrue(healthy.next().startsWith("event:state\nid:0\n"));
+            assertInstanceOf(IOException.class, stuck.aborted.poll(5, TimeUnit.SECONDS));
+            for (String move : new String[]{"E2E4", "E7E5", "G1F3"}) {
+                metadata.applyMove(new PieceMove(Position.of(move.substring(0, 2)), Position.of(move.substring(2))));
+                slowService.publish(metadata.snapshot());
+                assertTrue(healthy.next().startsWith("event:state\nid:" + metadata.getGame().getPreviousMoves().size()));
+            }
+            assertTrue(stuck.frames.isEmpty());
+            assertTrue(stuck.closed.isEmpty());
+            assertEquals(1, slowService.getStreams());
+        } finally {
+            slowService.shutdown();
+        }
+    }
+
+    private static class RecordingSink implements GameStreamService.FrameSink {
+        final BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+        final BlockingQueue<Boolean> closed = new LinkedBlockingQueue<>();
+        final BlockingQueue<Throwable> aborted = new LinkedBlockingQueue<>();
+        final CountDownLatch released = new CountDownLatch(1);
+        volatile boolean failing;
+        volatile boolean stalled;
+        volatile boolean stuck;
+
+        String next() throws InterruptedException {
+            byte[] frame = frames.poll(5, TimeUnit.SECONDS);
+            assertNotNull(frame);
+            return new String(frame, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void send(byte[] frame) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (stalled) {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("Write interrupted");
+                }
+            }
+            if (stuck) {
+                while (released.getCount() > 0) {
+                    try {
+                        released.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                throw new IOException("Connection aborted");
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void close() {
+            closed.add(true);
+        }
+
+        @Override
+        public void abort(Throwable cause) {
+            aborted.add(cause);
+            released.countDown();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.chess.service;
+
+import com.example.chess.engine.models.GamePlayerDesc;
+import com.example.chess.engine.models.PieceColor;
+import com.example.chess.repository.GameMetadata;
+import com.example.chess.repository.GameRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameUpdateRouterTest {
+    private final GameRepositoryImpl repository = new GameRepositoryImpl();
+    private GameUpdateRouter router;
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void testDeliversSnapshotToCurrentPlayer() throws Exception {
+        router = new GameUpdateRouter(2, 4);
+        GameMetadata metadata = repository.newGame();
+        CompletableFuture<GameMetadata> white = new CompletableFuture<>();
+        CompletableFuture<GameMetadata> black = new CompletableFuture<>();
+        router.subscribe(metadata.currentPlayerDesc(), white::complete);
+        router.subscribe(new GamePlayerDesc(metadata.getId(), metadata.getPlayerTokens().get(PieceColor.BLACK)),
+                black::complete);
+
+        router.publish(metadata);
+
+        assertEquals(metadata.getGame(), white.get(5, TimeUnit.SECONDS).getGame());
+        assertNotSame(metadata, white.get());
+        assertFalse(black.isDone());
+        assertEquals(1, router.getSubscribers());
+    }
+
+    @Test
+    void testGamesAreDeliveredConcurrently() throws Exception {
+        router = new GameUpdateRouter(2, 4);
+        GameMetadata slow = repository.newGame();
+        GameMetadata fast = repository.newGame();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<GameMetadata> delivered = new CompletableFuture<>();
+        router.subscribe(slow.currentPlayerDesc(), metadata -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        router.subscribe(fast.currentPlayerDesc(), delivered::complete);
+
+        router.publish(slow);
+        router.publish(fast);
+
+        assertEquals(fast.getId(), delivered.get(5, TimeUnit.SECONDS).getId());
+        release.countDown();
+    }
+
+    @Test
+    void testBoundedQueueDropsOldestUpdates() throws Exception {
+        router = new GameUpdateRouter(1, 2);
+        GameMetadata metadata = repository.newGame();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        router.subscribe(metadata.currentPlayerDesc(), m -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        router.publish(metadata);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            router.publish(metadata);
+        }
+        assertEquals(2, router.getQueued());
+        assertEquals(3, router.getDropped());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (router.getDelivered() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(6, router.getPublished());
+        assertEquals(3, router.getDelivered());
+        assertEquals(0, router.getQueued());
+        assertTrue(router.getMaxLagMillis() >= router.getAverageLagMillis());
+    }
+
+    @Test
+    void testIdleRoutesAreRemoved() throws Exception {
+        router = new GameUpdateRouter(2, 4);
+        for (int i = 0; i < 20; i++) {
+            router.publish(repository.newGame());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((router.getDelivered() < 20 || router.getRoutes() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(20, router.getDelivered());
+        assertEquals(0, router.getRoutes());
+
+        GameMetadata metadata = repository.newGame();
+        CompletableFuture<GameMetadata> delivered = new CompletableFuture<>();
+        router.subscribe(metadata.currentPlayerDesc(), delivered::complete);
+        router.publish(metadata);
+        assertEquals(metadata.getId(), delivered.get(5, TimeUnit.SECONDS).getId());
+    }
+}